@@ -0,0 +1,50 @@
+package com.github.fluent.hibernate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of a batch processing of entities.
+ *
+ * @author V.Ladynev
+ */
+public final class BatchStatistics {
+
+    private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int count;
+
+    private final long durationNanos;
+
+    public BatchStatistics(int count, long durationNanos) {
+        this.count = count;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * A count of processed entities.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * A duration of processing, including a transaction commit.
+     */
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    /**
+     * A throughput.
+     */
+    public double getEntitiesPerSecond() {
+        return durationNanos == 0 ? 0 : count * NANOS_IN_SECOND / durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d entities in %d ms (%.1f entities/s)", count, getDurationMillis(),
+                getEntitiesPerSecond());
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.github.fluent.hibernate;
 
+import java.util.Collection;
+
+import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
+import com.github.fluent.hibernate.request.HibernateBatch;
 import com.github.fluent.hibernate.request.HibernateDoInTransaction;
 import com.github.fluent.hibernate.request.HibernateHqlRequest;
 import com.github.fluent.hibernate.request.HibernateObjectQuery;
@@ -55,12 +59,38 @@ public final class H {
         return HibernateObjectQuery.saveAll(entities);
     }
 
+    public static <T> Iterable<T> insertAllStateless(Iterable<T> entities) {
+        return HibernateObjectQuery.insertAllStateless(entities);
+    }
+
+    public static <T> HibernateBatch<T> batch(Iterable<T> entities) {
+        return HibernateBatch.create(entities);
+    }
+
     public static <T> void delete(T entity) {
         HibernateObjectQuery.delete(entity);
     }
 
-    public static <T> void deleteById(Class<T> clazz, Object id) {
-        HibernateObjectQuery.delete(getById(clazz, id));
+    /**
+     * Load an entity and delete it (with cascades) in the same transaction.
+     */
+    public static <T> void deleteById(final Class<T> clazz, final Object id) {
+        unitOfWork(new IUnitOfWork<Void>() {
+            @Override
+            public Void doInUnitOfWork() {
+                HibernateObjectQuery.delete(getById(clazz, id));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Delete entities by identifiers without loading them. Cascades are not applied.
+     *
+     * @return a count of deleted entities
+     */
+    public static int deleteByIds(Class<?> clazz, Collection<?> ids) {
+        return HibernateObjectQuery.deleteByIds(clazz, ids);
     }
 
     public static <T> void deleteAll(Iterable<T> entities) {
@@ -71,4 +101,13 @@ public final class H {
         return HibernateDoInTransaction.execute(request);
     }
 
+    /**
+     * Execute fluent requests using the same session and transaction.
+     *
+     * @see HibernateSessionFactory#doInUnitOfWork(IUnitOfWork)
+     */
+    public static <T> T unitOfWork(IUnitOfWork<T> work) {
+        return HibernateSessionFactory.doInUnitOfWork(work);
+    }
+
 }
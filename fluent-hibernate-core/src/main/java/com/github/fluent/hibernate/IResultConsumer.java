@@ -0,0 +1,15 @@
+package com.github.fluent.hibernate;
+
+/**
+ * A consumer of request results, which are processed one by one.
+ *
+ * @param <T>
+ *            type of a result
+ *
+ * @author V.Ladynev
+ */
+public interface IResultConsumer<T> {
+
+    void accept(T result);
+
+}
@@ -0,0 +1,12 @@
+package com.github.fluent.hibernate;
+
+/**
+ * A unit of work. All fluent requests inside it use the same session and transaction.
+ *
+ * @author V.Ladynev
+ */
+public interface IUnitOfWork<T> {
+
+    T doInUnitOfWork();
+
+}
@@ -0,0 +1,208 @@
+package com.github.fluent.hibernate;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+
+/**
+ * Encodes sort keys of the keyset pagination to an opaque, URL safe string and back. Every key is
+ * stored as a type tag, a value length and a value. Only simply value types are supported, a Java
+ * serialization isn't used to not deserialize an untrusted input.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class KeysetCursor {
+
+    private static final String ENCODING = "UTF-8";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final char LENGTH_SEPARATOR = ':';
+
+    private KeysetCursor() {
+
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder result = new StringBuilder();
+
+        for (Object key : keys) {
+            appendKey(result, key);
+        }
+
+        return toHex(toBytes(result.toString()));
+    }
+
+    public static Object[] decode(String cursor) {
+        try {
+            return decodeKeys(fromBytes(fromHex(cursor)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException(String.format("Invalid cursor `%s`", cursor), ex);
+        }
+    }
+
+    private static void appendKey(StringBuilder result, Object key) {
+        InternalUtils.Asserts.isTrue(key != null, "Keyset pagination doesn't support null keys");
+        String value = valueAsString(key);
+        result.append(typeTag(key)).append(value.length()).append(LENGTH_SEPARATOR).append(value);
+    }
+
+    private static char typeTag(Object key) {
+        if (key instanceof String) {
+            return 'S';
+        }
+        if (key instanceof Long) {
+            return 'L';
+        }
+        if (key instanceof Integer) {
+            return 'I';
+        }
+        if (key instanceof Short) {
+            return 'H';
+        }
+        if (key instanceof Byte) {
+            return 'B';
+        }
+        if (key instanceof Double) {
+            return 'D';
+        }
+        if (key instanceof Float) {
+            return 'F';
+        }
+        if (key instanceof BigDecimal) {
+            return 'N';
+        }
+        if (key instanceof BigInteger) {
+            return 'G';
+        }
+        if (key instanceof Boolean) {
+            return 'Z';
+        }
+        if (key instanceof Character) {
+            return 'C';
+        }
+        if (key instanceof Timestamp) {
+            return 'P';
+        }
+        if (key instanceof Date) {
+            return 'T';
+        }
+
+        throw new IllegalArgumentException(String.format(
+                "Keyset pagination doesn't support a key of type %s", key.getClass().getName()));
+    }
+
+    private static String valueAsString(Object key) {
+        if (key instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) key;
+            return timestamp.getTime() + "." + timestamp.getNanos();
+        }
+
+        if (key instanceof Date) {
+            return String.valueOf(((Date) key).getTime());
+        }
+
+        return String.valueOf(key);
+    }
+
+    private static Object[] decodeKeys(String encoded) {
+        List<Object> result = CollectionUtils.newArrayList();
+
+        int position = 0;
+        while (position < encoded.length()) {
+            char tag = encoded.charAt(position);
+            int separator = encoded.indexOf(LENGTH_SEPARATOR, position);
+            int length = Integer.parseInt(encoded.substring(position + 1, separator));
+            int end = separator + 1 + length;
+            result.add(valueOf(tag, encoded.substring(separator + 1, end)));
+            position = end;
+        }
+
+        return result.toArray();
+    }
+
+    private static Object valueOf(char tag, String value) {
+        switch (tag) {
+        case 'S':
+            return value;
+        case 'L':
+            return Long.valueOf(value);
+        case 'I':
+            return Integer.valueOf(value);
+        case 'H':
+            return Short.valueOf(value);
+        case 'B':
+            return Byte.valueOf(value);
+        case 'D':
+            return Double.valueOf(value);
+        case 'F':
+            return Float.valueOf(value);
+        case 'N':
+            return new BigDecimal(value);
+        case 'G':
+            return new BigInteger(value);
+        case 'Z':
+            return Boolean.valueOf(value);
+        case 'C':
+            return value.charAt(0);
+        case 'P':
+            return toTimestamp(value);
+        case 'T':
+            return new Date(Long.parseLong(value));
+        default:
+            throw new IllegalArgumentException(String.format("Unknown key type `%s`", tag));
+        }
+    }
+
+    private static Timestamp toTimestamp(String value) {
+        int dot = value.indexOf('.');
+        Timestamp result = new Timestamp(Long.parseLong(value.substring(0, dot)));
+        result.setNanos(Integer.parseInt(value.substring(dot + 1)));
+        return result;
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] result = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+            result[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0F];
+            result[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+        }
+
+        return new String(result);
+    }
+
+    private static byte[] fromHex(String hex) {
+        InternalUtils.Asserts.isTrue(hex.length() % 2 == 0, "Odd length of a hex string");
+        byte[] result = new byte[hex.length() / 2];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+
+        return result;
+    }
+
+    private static byte[] toBytes(String value) {
+        try {
+            return value.getBytes(ENCODING);
+        } catch (UnsupportedEncodingException ex) {
+            throw InternalUtils.toRuntimeException(ex);
+        }
+    }
+
+    private static String fromBytes(byte[] bytes) {
+        try {
+            return new String(bytes, ENCODING);
+        } catch (UnsupportedEncodingException ex) {
+            throw InternalUtils.toRuntimeException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.github.fluent.hibernate;
+
+import java.util.List;
+
+/**
+ * A page of results of the keyset pagination.
+ *
+ * @param <T>
+ *            type of a result
+ *
+ * @author V.Ladynev
+ */
+public final class KeysetPage<T> {
+
+    private final List<T> results;
+
+    private final String nextCursor;
+
+    public KeysetPage(List<T> results, Object[] lastKeys) {
+        this.results = results;
+        this.nextCursor = lastKeys == null ? null : KeysetCursor.encode(lastKeys);
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * An opaque cursor to request the next page with {@link KeysetPagination#after(String, int)}.
+     *
+     * @return the cursor or null, if it is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.github.fluent.hibernate;
+
+import java.util.List;
+
+import org.hibernate.Criteria;
+import org.hibernate.criterion.Conjunction;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+
+/**
+ * Keyset (seek) pagination parameters. A next page is requested using sort keys of the last row of
+ * a previous page, so the database doesn't need to scan and skip rows before the page like it does
+ * for {@link Pagination}.
+ * <p>
+ * A request should have at least one order, and orders should define a unique sort key (an id as
+ * the last order, for an example). Sort keys can't be null.
+ *
+ * @author V.Ladynev
+ */
+public final class KeysetPagination {
+
+    /** Objects on page count. */
+    private final int pageSize;
+
+    /** Sort keys of the last row of a previous page, null for the first page. */
+    private final Object[] lastKeys;
+
+    private KeysetPagination(int pageSize, Object[] lastKeys) {
+        Asserts.isTrue(pageSize > 0, "Page size should be positive");
+        this.pageSize = pageSize;
+        this.lastKeys = lastKeys;
+    }
+
+    public static KeysetPagination firstPage(int pageSize) {
+        return new KeysetPagination(pageSize, null);
+    }
+
+    /**
+     * A page after a cursor.
+     *
+     * @param cursor
+     *            a cursor, returned by {@link KeysetPage#getNextCursor()}. The first page is
+     *            requested for null.
+     * @param pageSize
+     *            objects on page count
+     */
+    public static KeysetPagination after(String cursor, int pageSize) {
+        return cursor == null ? firstPage(pageSize)
+                : new KeysetPagination(pageSize, KeysetCursor.decode(cursor));
+    }
+
+    /**
+     * A page after explicitly specified sort keys.
+     *
+     * @param pageSize
+     *            objects on page count
+     * @param lastKeys
+     *            sort keys of the last row of a previous page in the orders sequence
+     */
+    public static KeysetPagination afterKeys(int pageSize, Object... lastKeys) {
+        Asserts.isTrue(!CollectionUtils.isEmpty(lastKeys), "Sort keys should be specified");
+        return new KeysetPagination(pageSize, lastKeys.clone());
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void addToCriteria(Criteria criteria, List<Order> orders) {
+        Asserts.isTrue(!orders.isEmpty(), "Keyset pagination requires at least one order");
+
+        if (lastKeys != null) {
+            criteria.add(createAfterRestriction(orders));
+        }
+
+        criteria.setMaxResults(pageSize);
+    }
+
+    /**
+     * (k1 > v1) or (k1 = v1 and k2 > v2) or ... with < for descending orders.
+     */
+    private Criterion createAfterRestriction(List<Order> orders) {
+        Asserts.isTrue(lastKeys.length == orders.size(), String.format(
+                "Sort keys count %d doesn't match orders count %d", lastKeys.length,
+                orders.size()));
+
+        Disjunction result = Restrictions.disjunction();
+
+        for (int i = 0; i < orders.size(); i++) {
+            Conjunction term = Restrictions.conjunction();
+
+            for (int j = 0; j < i; j++) {
+                term.add(Restrictions.eq(orders.get(j).getPropertyName(), lastKeys[j]));
+            }
+
+            term.add(after(orders.get(i), lastKeys[i]));
+            result.add(term);
+        }
+
+        return result;
+    }
+
+    private static Criterion after(Order order, Object key) {
+        return order.isAscending() ? Restrictions.gt(order.getPropertyName(), key)
+                : Restrictions.lt(order.getPropertyName(), key);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.github.fluent.hibernate;
+
+import java.util.List;
+
+/**
+ * Request results (a page, for an example) with a total count of results.
+ *
+ * @param <T>
+ *            type of a result
+ *
+ * @author V.Ladynev
+ */
+public final class ListWithCount<T> {
+
+    private final List<T> results;
+
+    private final int count;
+
+    public ListWithCount(List<T> results, int count) {
+        this.results = results;
+        this.count = count;
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * A total count of results, without taking into account a pagination or max results.
+     */
+    public int getCount() {
+        return count;
+    }
+
+}
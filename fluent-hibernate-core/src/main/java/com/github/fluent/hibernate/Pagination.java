@@ -22,8 +22,20 @@ public class Pagination {
         this.pageSize = pageSize;
     }
 
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    public int getFirstResult() {
+        return pageIndex * pageSize;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
     public void addToCriteria(final Criteria criteria) {
-        if (this == EMPTY) {
+        if (isEmpty()) {
             return;
         }
         criteria.setMaxResults(pageSize);
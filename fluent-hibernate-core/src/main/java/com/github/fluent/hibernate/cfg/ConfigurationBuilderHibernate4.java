@@ -15,6 +15,7 @@ import org.hibernate.cfg.Configuration;
 import org.hibernate.cfg.Environment;
 
 import com.github.fluent.hibernate.cfg.scanner.EntityScanner;
+import com.github.fluent.hibernate.cfg.scanner.ScanOptions;
 import com.github.fluent.hibernate.cfg.strategy.StrategyOptions;
 import com.github.fluent.hibernate.cfg.strategy.hibernate4.Hibernate4NamingStrategy;
 import com.github.fluent.hibernate.internal.util.InternalUtils;
@@ -96,8 +97,8 @@ class ConfigurationBuilderHibernate4 implements IConfigurationBuilder {
     }
 
     @Override
-    public void addPackagesToScan(String[] packagesToScan) {
-        EntityScanner.scanPackages(packagesToScan).addTo(result);
+    public void addPackagesToScan(String[] packagesToScan, ScanOptions options) {
+        EntityScanner.scanPackages(options, packagesToScan).addTo(result);
     }
 
     @Override
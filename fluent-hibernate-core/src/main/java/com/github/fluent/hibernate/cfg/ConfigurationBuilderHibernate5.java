@@ -16,6 +16,7 @@ import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.cfg.Environment;
 
 import com.github.fluent.hibernate.cfg.scanner.EntityScanner;
+import com.github.fluent.hibernate.cfg.scanner.ScanOptions;
 import com.github.fluent.hibernate.cfg.strategy.StrategyOptions;
 import com.github.fluent.hibernate.cfg.strategy.hibernate5.Hibernate5NamingStrategy;
 import com.github.fluent.hibernate.internal.util.InternalUtils;
@@ -80,8 +81,9 @@ class ConfigurationBuilderHibernate5 implements IConfigurationBuilder {
     }
 
     @Override
-    public void addPackagesToScan(String[] packagesToScan) {
-        addAnnotatedClassesToMetadata(EntityScanner.scanPackages(packagesToScan).result());
+    public void addPackagesToScan(String[] packagesToScan, ScanOptions options) {
+        addAnnotatedClassesToMetadata(
+                EntityScanner.scanPackages(options, packagesToScan).result());
     }
 
     private void addAnnotatedClassesToMetadata(List<Class<?>> annotatedClasses) {
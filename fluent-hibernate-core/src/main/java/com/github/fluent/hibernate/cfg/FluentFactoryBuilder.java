@@ -1,11 +1,18 @@
 package com.github.fluent.hibernate.cfg;
 
 import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import javax.persistence.AccessType;
 
 import org.hibernate.SessionFactory;
 
+import com.github.fluent.hibernate.cfg.scanner.ScanOptions;
 import com.github.fluent.hibernate.cfg.strategy.StrategyOptions;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
 import com.github.fluent.hibernate.internal.util.InternalUtils.HibernateUtils;
+import com.github.fluent.hibernate.transformer.FluentHibernateResultTransformer;
 
 /**
  * Fluent API for a Hibernate session factory configuration and build. The simplest way to create a
@@ -30,8 +37,14 @@ public class FluentFactoryBuilder {
 
     private String[] packagesToScan;
 
+    private ScanOptions scanOptions = ScanOptions.create();
+
     private boolean hibernate4Used;
 
+    private ExecutorService asyncExecutor;
+
+    private final List<DtoProjection> dtoProjections = CollectionUtils.newArrayList();
+
     public FluentFactoryBuilder() {
         hibernate4Used = HibernateUtils.isHibernate4Used();
         configurationBuilder = hibernate4Used ? new ConfigurationBuilderHibernate4()
@@ -85,6 +98,15 @@ public class FluentFactoryBuilder {
         return this;
     }
 
+    /**
+     * Scan packages for entities with options, like a parallel scanning.
+     */
+    public FluentFactoryBuilder scanPackages(ScanOptions scanOptions, String... packagesToScan) {
+        this.scanOptions = scanOptions;
+        this.packagesToScan = packagesToScan;
+        return this;
+    }
+
     /**
      * Use the default Hibernate5NamingStrategy.
      */
@@ -109,6 +131,36 @@ public class FluentFactoryBuilder {
         return this;
     }
 
+    /**
+     * Specify an executor for asynchronous requests. It is not shut down by {@link #close()}.
+     *
+     * @see HibernateAsyncExecutor
+     */
+    public FluentFactoryBuilder asyncExecutor(ExecutorService asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    /**
+     * Register a DTO projection (a result class of {@code transform()} and aliases of a request) to
+     * check and to precompile it by {@link #build()}. So an error, like a wrong alias, is found on
+     * a start up, and the first request doesn't resolve setters.
+     */
+    public FluentFactoryBuilder dtoProjection(Class<?> dtoClass, String... aliases) {
+        return dtoProjection(dtoClass, AccessType.PROPERTY, aliases);
+    }
+
+    /**
+     * Register a DTO projection, which uses an access type.
+     *
+     * @see #dtoProjection(Class, String...)
+     */
+    public FluentFactoryBuilder dtoProjection(Class<?> dtoClass, AccessType accessType,
+            String... aliases) {
+        dtoProjections.add(new DtoProjection(dtoClass, accessType, aliases));
+        return this;
+    }
+
     public FluentFactoryBuilder h2ConfigForTests() {
         return configForTests().hibernateProperties(HibernateProperties.forH2CreateDrop());
     }
@@ -126,6 +178,11 @@ public class FluentFactoryBuilder {
      * Build a Hibernate session factory.
      */
     public void build() {
+        // before a session factory build to don't leave it opened
+        for (DtoProjection projection : dtoProjections) {
+            projection.precompile();
+        }
+
         if (useHibernateCfgXml) {
             configurationBuilder.configure(hibernateCfgXmlPath);
         }
@@ -135,17 +192,22 @@ public class FluentFactoryBuilder {
         }
 
         if (packagesToScan != null) {
-            configurationBuilder.addPackagesToScan(packagesToScan);
+            configurationBuilder.addPackagesToScan(packagesToScan, scanOptions);
         }
 
         configureFromExistingSessionFactory(configurationBuilder.buildSessionFactory(),
                 hibernate4Used);
+
+        if (asyncExecutor != null) {
+            HibernateAsyncExecutor.setExecutor(asyncExecutor);
+        }
     }
 
     /**
      * Close a Hibernate session factory.
      */
     public void close() {
+        HibernateAsyncExecutor.shutdownDefaultExecutor();
         HibernateSessionFactory.closeSessionFactory();
     }
 
@@ -159,4 +221,24 @@ public class FluentFactoryBuilder {
                 hibernate4Used ? new SessionControlHibernate4() : new SessionControlHibernate5());
     }
 
+    private static final class DtoProjection {
+
+        private final Class<?> dtoClass;
+
+        private final AccessType accessType;
+
+        private final String[] aliases;
+
+        DtoProjection(Class<?> dtoClass, AccessType accessType, String[] aliases) {
+            this.dtoClass = dtoClass;
+            this.accessType = accessType;
+            this.aliases = aliases.clone();
+        }
+
+        void precompile() {
+            FluentHibernateResultTransformer.precompile(dtoClass, accessType, aliases);
+        }
+
+    }
+
 }
@@ -0,0 +1,106 @@
+package com.github.fluent.hibernate.cfg;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class holds an executor for asynchronous requests, like
+ * {@code H.request(User.class).listAsync()}. Each asynchronous request uses its own session and
+ * transaction.
+ * <p>
+ * By default a fixed thread pool is used. It uses virtual threads, if a runtime supports them
+ * (Java 21 and above), and daemon platform threads otherwise. A count of threads is bounded, so
+ * asynchronous requests can't exhaust a connection pool. An own executor can be specified with
+ * {@link FluentFactoryBuilder#asyncExecutor(ExecutorService)}.
+ *
+ * @author V.Ladynev
+ */
+public final class HibernateAsyncExecutor {
+
+    /** A count of threads of the default executor. */
+    public static final int DEFAULT_THREADS_COUNT = Math.max(4,
+            Runtime.getRuntime().availableProcessors() * 2);
+
+    private static volatile ExecutorService executor;
+
+    private static boolean defaultExecutor;
+
+    private HibernateAsyncExecutor() {
+
+    }
+
+    public static <T> Future<T> submit(Callable<T> task) {
+        return getExecutor().submit(task);
+    }
+
+    static synchronized void setExecutor(ExecutorService executor) {
+        shutdownDefaultExecutor();
+        HibernateAsyncExecutor.executor = executor;
+        defaultExecutor = false;
+    }
+
+    /**
+     * Shutdown the default executor, if it is used. An own executor should be shut down by a
+     * caller.
+     */
+    static synchronized void shutdownDefaultExecutor() {
+        if (defaultExecutor && executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private static ExecutorService getExecutor() {
+        ExecutorService result = executor;
+        return result == null ? createDefaultExecutor() : result;
+    }
+
+    private static synchronized ExecutorService createDefaultExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(DEFAULT_THREADS_COUNT, createThreadFactory());
+            defaultExecutor = true;
+        }
+
+        return executor;
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        ThreadFactory result = createVirtualThreadFactory();
+        return result == null ? new DaemonThreadFactory() : result;
+    }
+
+    /**
+     * Invoke {@code Thread.ofVirtual().factory()} using a reflection.
+     *
+     * @return a factory or null, if virtual threads are not supported
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread result = new Thread(runnable,
+                    "fluent-hibernate-async-" + threadNumber.getAndIncrement());
+            result.setDaemon(true);
+            return result;
+        }
+
+    }
+
+}
@@ -81,6 +81,30 @@ public final class HibernateProperties {
         return this;
     }
 
+    /**
+     * Specify a size of JDBC batches for inserts, updates and deletes.
+     */
+    public HibernateProperties jdbcBatchSize(int jdbcBatchSize) {
+        options.put(AvailableSettings.STATEMENT_BATCH_SIZE, Integer.toString(jdbcBatchSize));
+        return this;
+    }
+
+    /**
+     * Order inserts by entities to use JDBC batches for entities with associations.
+     */
+    public HibernateProperties orderInserts(boolean orderInserts) {
+        options.put(AvailableSettings.ORDER_INSERTS, Boolean.toString(orderInserts));
+        return this;
+    }
+
+    /**
+     * Order updates by entities and primary keys to use JDBC batches more effectively.
+     */
+    public HibernateProperties orderUpdates(boolean orderUpdates) {
+        options.put(AvailableSettings.ORDER_UPDATES, Boolean.toString(orderUpdates));
+        return this;
+    }
+
     public HibernateProperties property(String name, String value) {
         options.put(name, value);
         return this;
@@ -7,6 +7,7 @@ import org.hibernate.Transaction;
 
 import com.github.fluent.hibernate.IRequest;
 import com.github.fluent.hibernate.IStatelessRequest;
+import com.github.fluent.hibernate.IUnitOfWork;
 import com.github.fluent.hibernate.internal.util.InternalUtils;
 
 /**
@@ -30,6 +31,10 @@ public final class HibernateSessionFactory {
 
     private static ISessionControl sessionControl;
 
+    /** A session and a transaction of the current thread, which nested requests join. */
+    private static final ThreadLocal<UnitOfWork> CURRENT_UNIT_OF_WORK =
+            new ThreadLocal<UnitOfWork>();
+
     private HibernateSessionFactory() {
 
     }
@@ -44,26 +49,73 @@ public final class HibernateSessionFactory {
         }
     }
 
+    /**
+     * Execute a request in a new session and transaction. All requests, which are executed by the
+     * same thread inside the request, join this session and transaction. If some of nested requests
+     * fails, the transaction is rolled back.
+     *
+     * @return result of request
+     */
     public static <T> T doInTransaction(IRequest<T> request) {
+        return doInTransaction(request, false);
+    }
+
+    private static <T> T doInTransaction(IRequest<T> request, boolean explicitUnitOfWork) {
+        UnitOfWork current = CURRENT_UNIT_OF_WORK.get();
+        if (current != null) {
+            return current.join(request);
+        }
+
         Transaction txn = null;
         Session session = openSession();
+        UnitOfWork unitOfWork = new UnitOfWork(session, explicitUnitOfWork);
+        CURRENT_UNIT_OF_WORK.set(unitOfWork);
 
         T result = null;
 
         try {
             txn = session.beginTransaction();
             result = request.doInTransaction(session);
+            unitOfWork.assertNotRollbackOnly();
             txn.commit();
         } catch (Throwable th) {
             rollback(txn);
             throw InternalUtils.toRuntimeException(th);
         } finally {
+            CURRENT_UNIT_OF_WORK.remove();
             sessionControl.close(session);
         }
 
         return result;
     }
 
+    /**
+     * Execute a unit of work. All requests of the unit of work, which are executed by the current
+     * thread, use the same session and transaction. Asynchronous requests are executed by other
+     * threads, so they don't join the unit of work.
+     *
+     * @return result of the unit of work
+     */
+    public static <T> T doInUnitOfWork(final IUnitOfWork<T> work) {
+        return doInTransaction(new IRequest<T>() {
+            @Override
+            public T doInTransaction(Session session) {
+                return work.doInUnitOfWork();
+            }
+        }, true);
+    }
+
+    /**
+     * Check that the current thread executes a unit of work, or a request nested to other request.
+     * A session is shared with a caller in such case. A request, which clears a session (like
+     * {@code forEach()} and batches), clears it only if the session is opened by the request
+     * itself.
+     */
+    public static boolean isInUnitOfWork() {
+        UnitOfWork current = CURRENT_UNIT_OF_WORK.get();
+        return current != null && current.isShared();
+    }
+
     /**
      * It is need to use for only simply persisten objects. It can work incorrect for associations.
      *
@@ -4,6 +4,7 @@ import java.io.File;
 
 import org.hibernate.SessionFactory;
 
+import com.github.fluent.hibernate.cfg.scanner.ScanOptions;
 import com.github.fluent.hibernate.cfg.strategy.StrategyOptions;
 
 interface IConfigurationBuilder {
@@ -20,7 +21,7 @@ interface IConfigurationBuilder {
 
     void addAnnotatedClasses(Class<?>[] annotatedClasses);
 
-    void addPackagesToScan(String[] packagesToScan);
+    void addPackagesToScan(String[] packagesToScan, ScanOptions options);
 
     void useNamingStrategy(StrategyOptions options);
 
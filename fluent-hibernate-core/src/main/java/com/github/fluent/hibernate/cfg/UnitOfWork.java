@@ -0,0 +1,61 @@
+package com.github.fluent.hibernate.cfg;
+
+import org.hibernate.Session;
+
+import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.internal.util.InternalUtils;
+
+/**
+ * A session and a transaction of the current thread. Nested requests join them.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class UnitOfWork {
+
+    private final Session session;
+
+    /** The session is opened by {@code H.unitOfWork()}, rather than by a request. */
+    private final boolean explicit;
+
+    /** A count of nested requests, which are executed now. */
+    private int joinedCount;
+
+    private boolean rollbackOnly;
+
+    public UnitOfWork(Session session, boolean explicit) {
+        this.session = session;
+        this.explicit = explicit;
+    }
+
+    /**
+     * Check that the session is shared with a caller: it is a session of a unit of work, or of an
+     * enclosing request of a nested request.
+     */
+    public boolean isShared() {
+        return explicit || joinedCount > 0;
+    }
+
+    /**
+     * Execute a nested request. The transaction is marked as a rollback only, if the request
+     * fails, even if the exception is caught by a caller.
+     */
+    public <T> T join(IRequest<T> request) {
+        joinedCount++;
+        try {
+            return request.doInTransaction(session);
+        } catch (Throwable th) {
+            rollbackOnly = true;
+            throw InternalUtils.toRuntimeException(th);
+        } finally {
+            joinedCount--;
+        }
+    }
+
+    public void assertNotRollbackOnly() {
+        if (rollbackOnly) {
+            throw new IllegalStateException(
+                    "The transaction is rolled back, because a nested request failed");
+        }
+    }
+
+}
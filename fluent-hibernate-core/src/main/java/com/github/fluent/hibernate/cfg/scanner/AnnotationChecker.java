@@ -49,10 +49,28 @@ public class AnnotationChecker {
 
     private final ConstantPool constantPool = new ConstantPool();
 
-    private final String annotationDescriptor;
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = ConstantPool
+            .toModifiedUtf8("RuntimeVisibleAnnotations");
+
+    private static final byte[] RUNTIME_INVISIBLE_ANNOTATIONS = ConstantPool
+            .toModifiedUtf8("RuntimeInvisibleAnnotations");
+
+    /** Constants are compared in the encoded form to don't decode them. */
+    private final byte[] annotationDescriptor;
+
+    private final BytePattern annotationDescriptorPattern;
 
     public AnnotationChecker(Class<? extends Annotation> annotation) {
-        annotationDescriptor = ResourceUtils.toDescriptor(annotation);
+        this(ResourceUtils.toDescriptor(annotation));
+    }
+
+    /**
+     * @param annotationDescriptor
+     *            a descriptor of an annotation type, like {@code Ljavax/persistence/Entity;}
+     */
+    /* package */AnnotationChecker(String annotationDescriptor) {
+        this.annotationDescriptor = ConstantPool.toModifiedUtf8(annotationDescriptor);
+        annotationDescriptorPattern = new BytePattern(this.annotationDescriptor);
     }
 
     /**
@@ -68,7 +86,7 @@ public class AnnotationChecker {
 
         try {
             buffer.readFrom(classStream);
-            return hasCafebabe() ? detect() : false;
+            return hasCafebabe() && hasAnnotationDescriptor() ? detect() : false;
         } finally {
             ResourceUtils.closeQuietly(classStream);
         }
@@ -78,6 +96,14 @@ public class AnnotationChecker {
         return buffer.size() > 4 && buffer.readInt() == HEAD;
     }
 
+    /**
+     * An annotated class has the annotation descriptor in the constant pool as a CP_UTF8 entry, so
+     * most of classes are rejected by a search in raw bytes without parsing.
+     */
+    private boolean hasAnnotationDescriptor() {
+        return buffer.contains(annotationDescriptorPattern);
+    }
+
     /**
      * Inspect the given (Java) class file in streaming mode.
      */
@@ -161,11 +187,11 @@ public class AnnotationChecker {
         int count = buffer.readUnsignedShort();
 
         for (int i = 0; i < count; ++i) {
-            String name = resolveUtf8();
+            int nameIndex = buffer.readUnsignedShort();
             // in bytes, use this to skip the attribute info block
             int length = buffer.readInt();
-            if ("RuntimeVisibleAnnotations".equals(name)
-                    || "RuntimeInvisibleAnnotations".equals(name)) {
+            if (constantPool.isConstantEqual(nameIndex, RUNTIME_VISIBLE_ANNOTATIONS)
+                    || constantPool.isConstantEqual(nameIndex, RUNTIME_INVISIBLE_ANNOTATIONS)) {
                 if (checkTypeAnnotationsHelper()) {
                     return true;
                 }
@@ -182,8 +208,8 @@ public class AnnotationChecker {
         int count = buffer.readUnsignedShort();
 
         for (int i = 0; i < count; ++i) {
-            String descriptor = readAnnotation();
-            if (annotationDescriptor.equals(descriptor)) {
+            int typeIndex = readAnnotation();
+            if (constantPool.isConstantEqual(typeIndex, annotationDescriptor)) {
                 return true;
             }
         }
@@ -191,8 +217,11 @@ public class AnnotationChecker {
         return false;
     }
 
-    private String readAnnotation() throws IOException {
-        String rawTypeName = resolveUtf8();
+    /**
+     * @return a constant pool index of the annotation type
+     */
+    private int readAnnotation() throws IOException {
+        int typeIndex = buffer.readUnsignedShort();
         // num_element_value_pairs
         int count = buffer.readUnsignedShort();
 
@@ -200,7 +229,7 @@ public class AnnotationChecker {
             buffer.skipUnsignedShort();
             readAnnotationElementValue();
         }
-        return rawTypeName;
+        return typeIndex;
     }
 
     private void readAnnotationElementValue() throws IOException {
@@ -239,13 +268,4 @@ public class AnnotationChecker {
         }
     }
 
-    /**
-     * Look up the String value, identified by the u2 index value from constant pool (direct or
-     * indirect).
-     */
-    private String resolveUtf8() throws IOException {
-        int index = buffer.readUnsignedShort();
-        return constantPool.getConstant(index);
-    }
-
 }
@@ -0,0 +1,51 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import java.util.Arrays;
+
+/**
+ * A byte sequence, which can be searched in a byte array by the Boyer-Moore-Horspool algorithm.
+ * A shift table is computed once for a pattern.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class BytePattern {
+
+    private static final int BYTE_VALUES_COUNT = 256;
+
+    private final byte[] pattern;
+
+    /** A shift of the search window by a value of its last byte. */
+    private final int[] shifts = new int[BYTE_VALUES_COUNT];
+
+    public BytePattern(byte[] pattern) {
+        this.pattern = pattern.clone();
+
+        Arrays.fill(shifts, pattern.length);
+        for (int i = 0; i < pattern.length - 1; i++) {
+            shifts[pattern[i] & 0xff] = pattern.length - 1 - i;
+        }
+    }
+
+    /**
+     * Check that the pattern is in bytes from 0 (inclusive) to {@code size} (exclusive).
+     */
+    public boolean isFoundIn(byte[] bytes, int size) {
+        int last = pattern.length - 1;
+        if (last < 0) {
+            return true;
+        }
+
+        for (int end = last; end < size; end += shifts[bytes[end] & 0xff]) {
+            int i = last;
+            while (bytes[end - last + i] == pattern[i]) {
+                if (i == 0) {
+                    return true;
+                }
+                i--;
+            }
+        }
+
+        return false;
+    }
+
+}
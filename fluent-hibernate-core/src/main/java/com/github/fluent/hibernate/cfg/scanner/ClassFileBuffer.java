@@ -78,6 +78,35 @@ final class ClassFileBuffer implements DataInput {
         this.pointer = position;
     }
 
+    /**
+     * Return the file-pointer offset, measured from the beginning of this file.
+     */
+    public int position() {
+        return pointer;
+    }
+
+    /**
+     * Compare bytes at an offset with a value, without moving the read pointer.
+     */
+    public boolean isEqualAt(final int offset, final byte[] value) {
+        if (offset < 0 || offset + value.length > size) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (buffer[offset + i] != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Search a pattern in the whole content, without moving the read pointer.
+     */
+    public boolean contains(final BytePattern pattern) {
+        return pattern.isFoundIn(buffer, size);
+    }
+
     /**
      * Return the size (in bytes) of this Java ClassFile file.
      */
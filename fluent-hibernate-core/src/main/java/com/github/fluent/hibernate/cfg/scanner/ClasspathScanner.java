@@ -4,11 +4,16 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -52,9 +57,39 @@ public class ClasspathScanner {
         this.loaders = loaders;
     }
 
+    /**
+     * Don't scan a jar or a directory, and consider its resources as already scanned. So the
+     * same resources of other jars and directories are not accepted.
+     */
+    public void skip(URL url, Collection<String> resources) {
+        scanned.add(new UrlWrapper(url, null));
+        scannedResources.addAll(resources);
+    }
+
+    /**
+     * Scan jars and directories one after another.
+     */
     public void scan() throws Exception {
         for (UrlWrapper url : getUrls()) {
-            scan(url);
+            scan(url, null);
+        }
+    }
+
+    /**
+     * Read jars and directories in parallel. Resources are passed to the acceptor in the current
+     * thread, in the same order, as {@link #scan()} does it.
+     */
+    public void scan(ExecutorService executor) throws Exception {
+        Set<UrlWrapper> urls = getUrls();
+
+        Map<UrlWrapper, UrlContent> contents = CollectionUtils.newHashMap();
+        Collection<UrlWrapper> urlsToRead = urls;
+        while (!urlsToRead.isEmpty()) {
+            urlsToRead = readContents(executor, urlsToRead, contents);
+        }
+
+        for (UrlWrapper url : urls) {
+            scan(url, contents);
         }
     }
 
@@ -64,33 +99,98 @@ public class ClasspathScanner {
                 .extract();
     }
 
-    private void scan(UrlWrapper url) throws Exception {
+    /**
+     * Read the contents of URLs in parallel.
+     *
+     * @return URLs from manifests of the read jars, which are not read yet
+     */
+    private Collection<UrlWrapper> readContents(ExecutorService executor,
+            Collection<UrlWrapper> urls, Map<UrlWrapper, UrlContent> contents) throws Exception {
+        List<UrlWrapper> notSkipped = CollectionUtils.newArrayListWithCapacity(urls.size());
+        for (UrlWrapper url : urls) {
+            if (!scanned.contains(url)) {
+                notSkipped.add(url);
+            }
+        }
+
+        List<Callable<UrlContent>> tasks = CollectionUtils.newArrayListWithCapacity(urls.size());
+        for (final UrlWrapper url : notSkipped) {
+            tasks.add(new Callable<UrlContent>() {
+                @Override
+                public UrlContent call() throws Exception {
+                    return readContent(url);
+                }
+            });
+        }
+
+        List<UrlContent> read = ParallelTasks.invokeAll(executor, tasks);
+
+        for (int i = 0; i < notSkipped.size(); i++) {
+            contents.put(notSkipped.get(i), read.get(i));
+        }
+
+        Set<UrlWrapper> result = new LinkedHashSet<UrlWrapper>();
+        for (UrlContent content : read) {
+            for (UrlWrapper urlFromManifest : content.classPath) {
+                if (!contents.containsKey(urlFromManifest)) {
+                    result.add(urlFromManifest);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @param contents
+     *            already read contents of URLs, or null to read a content in place
+     */
+    private void scan(UrlWrapper url, Map<UrlWrapper, UrlContent> contents) throws Exception {
         // scan each url once independent of the classloader
         if (!scanned.add(url)) {
             return;
         }
 
+        UrlContent content = contents == null ? readContent(url) : contents.get(url);
+
+        for (UrlWrapper urlFromManifest : content.classPath) {
+            scan(urlFromManifest, contents);
+        }
+
+        for (String resource : content.resources) {
+            addResource(resource, url.getLoader(), content.jar);
+        }
+    }
+
+    /**
+     * Read resources of an URL, which can be added to the result. This method is thread safe.
+     */
+    private UrlContent readContent(UrlWrapper url) throws IOException {
+        UrlContent result = new UrlContent();
+
         if (url.isFile()) {
-            scanFile(url);
+            readFile(url, result);
         } else {
-            scanJar(url);
+            readJar(url, result);
         }
+
+        return result;
     }
 
-    private void scanFile(UrlWrapper url) throws Exception {
+    private void readFile(UrlWrapper url, UrlContent content) throws IOException {
         File file = url.getFile();
 
         if (!file.exists()) {
             return;
         }
         if (file.isDirectory()) {
-            scanDirectory(url.getLoader(), file);
+            readDirectory(file, StringUtils.EMPTY, content);
         } else {
-            scanJar(url);
+            readJar(url, content);
         }
     }
 
-    private void scanJar(UrlWrapper url) throws Exception {
+    private void readJar(UrlWrapper url, UrlContent content) throws IOException {
         JarFile jarFile = url.getJarFile();
 
         if (jarFile == null) {
@@ -98,16 +198,15 @@ public class ClasspathScanner {
         }
 
         try {
-            for (UrlWrapper urlFromManifest : getClassPathFromManifest(jarFile, url.getLoader())) {
-                scan(urlFromManifest);
-            }
-            scanJarFile(jarFile, url.getLoader());
+            content.jar = new File(jarFile.getName());
+            content.classPath.addAll(getClassPathFromManifest(jarFile, url.getLoader()));
+            readJarFile(jarFile, content);
         } finally {
             ResourceUtils.closeQuietly(jarFile);
         }
     }
 
-    private void scanJarFile(JarFile file, ClassLoader loader) throws Exception {
+    private void readJarFile(JarFile file, UrlContent content) {
         Enumeration<JarEntry> entries = file.entries();
         while (entries.hasMoreElements()) {
             JarEntry entry = entries.nextElement();
@@ -115,16 +214,11 @@ public class ClasspathScanner {
                 continue;
             }
 
-            addResource(entry.getName(), loader);
+            addToContent(entry.getName(), content);
         }
     }
 
-    private void scanDirectory(ClassLoader loader, File directory) throws Exception {
-        scanDirectory(directory, loader, StringUtils.EMPTY);
-    }
-
-    private void scanDirectory(File directory, ClassLoader classloader, String packagePrefix)
-            throws Exception {
+    private void readDirectory(File directory, String packagePrefix, UrlContent content) {
         File[] files = directory.listFiles();
         if (files == null) {
             // IO error, just skip the directory
@@ -133,11 +227,11 @@ public class ClasspathScanner {
         for (File f : files) {
             String name = f.getName();
             if (f.isDirectory()) {
-                scanDirectory(f, classloader, packagePrefix + name + "/");
+                readDirectory(f, packagePrefix + name + "/", content);
             } else {
                 String resourceName = packagePrefix + name;
                 if (!resourceName.equals(JarFile.MANIFEST_NAME)) {
-                    addResource(resourceName, classloader);
+                    addToContent(resourceName, content);
                 }
             }
         }
@@ -151,7 +245,7 @@ public class ClasspathScanner {
             return Collections.emptySet();
         }
 
-        Set<UrlWrapper> result = CollectionUtils.newHashSet();
+        Set<UrlWrapper> result = new LinkedHashSet<UrlWrapper>();
         String classpathAttribute = manifest.getMainAttributes()
                 .getValue(Attributes.Name.CLASS_PATH.toString());
         if (classpathAttribute == null) {
@@ -172,17 +266,19 @@ public class ClasspathScanner {
         return result;
     }
 
-    private void addResource(String resource, ClassLoader loader) throws Exception {
-        if (!scannedResources.add(resource)) {
-            return;
+    private void addToContent(String resource, UrlContent content) {
+        if (canAddToResult(resource)) {
+            content.resources.add(resource);
         }
+    }
 
-        if (canAddToResult(resource)) {
-            acceptor.accept(resource, loader);
+    private void addResource(String resource, ClassLoader loader, File jar) throws Exception {
+        if (scannedResources.add(resource)) {
+            acceptor.accept(resource, loader, jar);
         }
     }
 
-    private boolean canAddToResult(String resource) throws IOException {
+    private boolean canAddToResult(String resource) {
         if (scanAllPackages) {
             return true;
         }
@@ -203,7 +299,27 @@ public class ClasspathScanner {
 
     public interface IResourceAcceptor {
 
-        void accept(String resource, ClassLoader loader) throws Exception;
+        /**
+         * Accept a resource. A resource, which is duplicated in several jars or directories, is
+         * accepted only for the first of them.
+         *
+         * @param jar
+         *            a jar file, which contains the resource, or null for a directory
+         */
+        void accept(String resource, ClassLoader loader, File jar) throws Exception;
+
+    }
+
+    /**
+     * Resources of a jar or a directory, and URLs from the Class-Path attribute of a jar manifest.
+     */
+    private static final class UrlContent {
+
+        private final List<String> resources = CollectionUtils.newArrayList();
+
+        private final Set<UrlWrapper> classPath = new LinkedHashSet<UrlWrapper>();
+
+        private File jar;
 
     }
 
@@ -1,7 +1,11 @@
 package com.github.fluent.hibernate.cfg.scanner;
 
-import java.io.DataInput;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils;
 
 /**
  *
@@ -39,14 +43,25 @@ class ConstantPool {
 
     private static final int BUFFER_SIZE = 8 * 1024;
 
-    private Object[] buffer = new Object[BUFFER_SIZE];
+    /** An offset of a CP_UTF8 entry bytes in the class file buffer. */
+    private int[] offsets = new int[BUFFER_SIZE];
+
+    /** A length of CP_UTF8 entry bytes, or -1 for a CP_CLASS or a CP_STRING entry. */
+    private int[] lengths = new int[BUFFER_SIZE];
 
-    private DataInput di;
+    /** An index of a CP_UTF8 entry, referenced by a CP_CLASS or a CP_STRING entry. */
+    private int[] references = new int[BUFFER_SIZE];
 
-    public void readEntries(DataInput di) throws IOException {
-        this.di = di;
-        int count = di.readUnsignedShort();
-        allocateBuffer(count);
+    private ClassFileBuffer buffer;
+
+    /**
+     * Read entries. CP_UTF8 entries are not decoded, only their positions are stored. So the
+     * buffer shouldn't be refilled, while this constant pool is used.
+     */
+    public void readEntries(ClassFileBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        int count = buffer.readUnsignedShort();
+        allocateBuffers(count);
         for (int i = 1; i < count; ++i) {
             if (readConstantPoolEntry(i)) {
                 // double slot
@@ -55,9 +70,11 @@ class ConstantPool {
         }
     }
 
-    private void allocateBuffer(int size) {
-        if (buffer.length < size) {
-            buffer = new Object[size];
+    private void allocateBuffers(int size) {
+        if (offsets.length < size) {
+            offsets = new int[size];
+            lengths = new int[size];
+            references = new int[size];
         }
     }
 
@@ -65,13 +82,13 @@ class ConstantPool {
      * Return {@code true} if a double slot is read (in case of Double or Long constant).
      */
     private boolean readConstantPoolEntry(int index) throws IOException {
-        int tag = di.readUnsignedByte();
+        int tag = buffer.readUnsignedByte();
         switch (tag) {
         case CP_METHOD_TYPE:
-            di.skipBytes(2); // readUnsignedShort()
+            buffer.skipBytes(2); // readUnsignedShort()
             return false;
         case CP_METHOD_HANDLE:
-            di.skipBytes(3);
+            buffer.skipBytes(3);
             return false;
         case CP_INTEGER:
         case CP_FLOAT:
@@ -80,19 +97,22 @@ class ConstantPool {
         case CP_REF_INTERFACE:
         case CP_NAME_AND_TYPE:
         case CP_INVOKE_DYNAMIC:
-            di.skipBytes(4); // readInt() / readFloat() / readUnsignedShort() * 2
+            buffer.skipBytes(4); // readInt() / readFloat() / readUnsignedShort() * 2
             return false;
         case CP_LONG:
         case CP_DOUBLE:
-            di.skipBytes(8); // readLong() / readDouble()
+            buffer.skipBytes(8); // readLong() / readDouble()
             return true;
         case CP_UTF8:
-            buffer[index] = di.readUTF();
+            lengths[index] = buffer.readUnsignedShort();
+            offsets[index] = buffer.position();
+            buffer.skipBytes(lengths[index]);
             return false;
         case CP_CLASS:
         case CP_STRING:
             // reference to CP_UTF8 entry. The referenced index can have a higher number!
-            buffer[index] = di.readUnsignedShort();
+            lengths[index] = -1;
+            references[index] = buffer.readUnsignedShort();
             return false;
         default:
             throw new ClassFormatError("Unkown tag value for constant pool entry: " + tag);
@@ -100,12 +120,28 @@ class ConstantPool {
     }
 
     /**
-     * Look up the String value, identified by the u2 index value from constant pool (direct or
-     * indirect).
+     * Compare the String value, identified by the u2 index value from constant pool (direct or
+     * indirect), with a value without decoding it.
+     *
+     * @param value
+     *            a value in the modified UTF-8 encoding of a class file, see
+     *            {@link #toModifiedUtf8(String)}
      */
-    public String getConstant(int index) {
-        Object value = buffer[index];
-        return (String) (value instanceof Integer ? buffer[(Integer) value] : value);
+    public boolean isConstantEqual(int index, byte[] value) {
+        int utf8Index = lengths[index] < 0 ? references[index] : index;
+        return lengths[utf8Index] == value.length
+                && buffer.isEqualAt(offsets[utf8Index], value);
+    }
+
+    public static byte[] toModifiedUtf8(String value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new DataOutputStream(bytes).writeUTF(value);
+            // without an unsigned short length
+            return Arrays.copyOfRange(bytes.toByteArray(), 2, bytes.size());
+        } catch (IOException ex) {
+            throw InternalUtils.toRuntimeException(ex);
+        }
     }
 
 }
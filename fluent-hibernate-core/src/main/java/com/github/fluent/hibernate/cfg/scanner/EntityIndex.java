@@ -0,0 +1,150 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.StringUtils;
+
+/**
+ * An index of annotated classes of a jar or a directory, which is generated by
+ * {@link EntityIndexProcessor} at compile time. A line of the index is a class name and an
+ * annotation name, separated by a space.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class EntityIndex {
+
+    public static final String RESOURCE = "META-INF/fluent-hibernate/entities.idx";
+
+    public static final String ENTITY = "javax.persistence.Entity";
+
+    public static final String EMBEDDABLE = "javax.persistence.Embeddable";
+
+    public static final String MAPPED_SUPERCLASS = "javax.persistence.MappedSuperclass";
+
+    private static final String COMMENT = "#";
+
+    private final URL root;
+
+    private final ClassLoader loader;
+
+    private final List<String> classResources = CollectionUtils.newArrayList();
+
+    private final List<String> annotationNames = CollectionUtils.newArrayList();
+
+    private EntityIndex(URL root, ClassLoader loader) {
+        this.root = root;
+        this.loader = loader;
+    }
+
+    /**
+     * Check that an index has all the classes with an annotation. Classes with other annotations
+     * should be found by reading class files.
+     */
+    public static boolean isIndexed(String annotationName) {
+        return ENTITY.equals(annotationName) || EMBEDDABLE.equals(annotationName)
+                || MAPPED_SUPERCLASS.equals(annotationName);
+    }
+
+    /**
+     * Find indexes using class loaders. If the same jar or directory is found by several loaders,
+     * an index is read once, for the first of them.
+     */
+    public static List<EntityIndex> find(List<ClassLoader> loaders) throws IOException {
+        Map<String, EntityIndex> result = CollectionUtils.newLinkedHashMap();
+
+        for (ClassLoader loader : loaders) {
+            Enumeration<URL> urls = loader.getResources(RESOURCE);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                String externalForm = url.toExternalForm();
+                String rootExternalForm = externalForm.substring(0,
+                        externalForm.length() - RESOURCE.length());
+                if (!result.containsKey(rootExternalForm)) {
+                    result.put(rootExternalForm, read(url, new URL(rootExternalForm), loader));
+                }
+            }
+        }
+
+        return CollectionUtils.newArrayList(result.values());
+    }
+
+    private static EntityIndex read(URL url, URL root, ClassLoader loader) throws IOException {
+        EntityIndex result = new EntityIndex(root, loader);
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(url.openStream(), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() == 0 || line.startsWith(COMMENT)) {
+                    continue;
+                }
+
+                String[] classAndAnnotation = StringUtils.splitBySpace(line);
+                result.classResources.add(ResourceUtils.classAsResource(classAndAnnotation[0]));
+                result.annotationNames.add(classAndAnnotation[1]);
+            }
+        } finally {
+            ResourceUtils.closeQuietly(reader);
+        }
+
+        return result;
+    }
+
+    /**
+     * A jar or a directory of the index.
+     */
+    public URL getRoot() {
+        return root;
+    }
+
+    public ClassLoader getLoader() {
+        return loader;
+    }
+
+    /**
+     * Resources of all the classes of the index.
+     */
+    public List<String> getClassResources() {
+        return classResources;
+    }
+
+    /**
+     * Resources of the classes, which are annotated with an annotation.
+     *
+     * @param resourcesToScan
+     *            resource paths of packages, a class should be in one of them
+     */
+    public List<String> getClassResources(String annotationName, List<String> resourcesToScan) {
+        List<String> result = CollectionUtils.newArrayList();
+
+        for (int i = 0; i < classResources.size(); i++) {
+            String classResource = classResources.get(i);
+            if (annotationName.equals(annotationNames.get(i))
+                    && isInResources(classResource, resourcesToScan)) {
+                result.add(classResource);
+            }
+        }
+
+        return result;
+    }
+
+    private static boolean isInResources(String classResource, List<String> resourcesToScan) {
+        for (String resourceToScan : resourcesToScan) {
+            if (classResource.startsWith(resourceToScan)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor, which writes {@code META-INF/fluent-hibernate/entities.idx} with the
+ * classes, annotated with {@code @Entity}, {@code @Embeddable} and {@code @MappedSuperclass}.
+ * {@link EntityScanner} uses an index instead of reading class files of a jar or a directory.
+ * <p>
+ * The processor is not registered as a service, because an index of an incremental compilation
+ * contains only recompiled classes. It should be specified for a full build, for example with
+ * Gradle:
+ *
+ * <pre>
+ * compileJava.options.compilerArgs += ['-processor',
+ *         'com.github.fluent.hibernate.cfg.scanner.EntityIndexProcessor']
+ * </pre>
+ *
+ * @author V.Ladynev
+ */
+@SupportedAnnotationTypes({ EntityIndex.ENTITY, EntityIndex.EMBEDDABLE,
+        EntityIndex.MAPPED_SUPERCLASS })
+public class EntityIndexProcessor extends AbstractProcessor {
+
+    /** Sorted to get the same index for the same classes. */
+    private final Set<String> lines = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind().isClass()) {
+                    lines.add(getBinaryName((TypeElement) element) + " "
+                            + annotation.getQualifiedName());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !lines.isEmpty()) {
+            writeIndex();
+        }
+
+        // other processors can process these annotations too
+        return false;
+    }
+
+    private String getBinaryName(TypeElement element) {
+        return processingEnv.getElementUtils().getBinaryName(element).toString();
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", EntityIndex.RESOURCE);
+            Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Can't write " + EntityIndex.RESOURCE + ": " + ex.getMessage());
+        }
+    }
+
+}
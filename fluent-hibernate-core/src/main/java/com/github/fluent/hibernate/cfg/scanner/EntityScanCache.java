@@ -0,0 +1,197 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.StringUtils;
+
+/**
+ * A cache of annotated classes of jars, which is stored in a file between scannings. An entry of a
+ * jar is keyed by a jar path, and is used, if a size and a last modification time of the jar are
+ * not changed. Entries of other jars, and entries of a file, written for other packages or an
+ * other annotation, are ignored. Directories are not cached.
+ * <p>
+ * The file is a properties file: {@code jarPath=size,lastModified,resource1,resource2,...}.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class EntityScanCache {
+
+    private static final String KEY_PROPERTY = "fluent-hibernate.scan.key";
+
+    private static final String SEPARATOR = ",";
+
+    private final File file;
+
+    private final String key;
+
+    private final Map<String, JarCacheEntry> cached;
+
+    /** Entries of jars of the current scanning, only they are written to the file. */
+    private final Map<String, JarCacheEntry> actual = CollectionUtils.newHashMap();
+
+    private EntityScanCache(File file, String key, Map<String, JarCacheEntry> cached) {
+        this.file = file;
+        this.key = key;
+        this.cached = cached;
+    }
+
+    /**
+     * Read a cache file. A missed or a broken file is considered as an empty one.
+     *
+     * @param key
+     *            an annotation and packages of the scanning
+     */
+    public static EntityScanCache load(File file, String key) {
+        return new EntityScanCache(file, key, readEntries(file, key));
+    }
+
+    /**
+     * Check a resource of a jar using the cache.
+     *
+     * @return null, if the jar is changed or is not in the cache
+     */
+    public synchronized Boolean isAnnotated(File jar, String resource) {
+        JarCacheEntry entry = getActualEntry(jar);
+        return entry.fromCache ? entry.annotated.contains(resource) : null;
+    }
+
+    /**
+     * Add a result of a check of a resource, which is not found by
+     * {@link #isAnnotated(File, String)}.
+     */
+    public synchronized void put(File jar, String resource, boolean annotated) {
+        JarCacheEntry entry = getActualEntry(jar);
+        if (annotated) {
+            entry.annotated.add(resource);
+        }
+    }
+
+    private JarCacheEntry getActualEntry(File jar) {
+        String path = jar.getAbsolutePath();
+        JarCacheEntry result = actual.get(path);
+        if (result != null) {
+            return result;
+        }
+
+        result = new JarCacheEntry(jar.length(), jar.lastModified(), false);
+        JarCacheEntry previous = cached.get(path);
+        if (previous != null && previous.hasSameFingerprint(result)) {
+            result = previous;
+        }
+
+        actual.put(path, result);
+        return result;
+    }
+
+    /**
+     * Write entries of the jars of the current scanning. A temporary file is renamed to the cache
+     * file, so a concurrent scanning doesn't read a partially written file.
+     */
+    public synchronized void save() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_PROPERTY, key);
+        for (Map.Entry<String, JarCacheEntry> entry : actual.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toProperty());
+        }
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Can't create a directory for a scan cache: " + parent);
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        OutputStream stream = new FileOutputStream(temp);
+        try {
+            properties.store(stream, "fluent-hibernate entity scan cache");
+        } finally {
+            ResourceUtils.closeQuietly(stream);
+        }
+
+        if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+            throw new IOException("Can't write a scan cache: " + file);
+        }
+    }
+
+    private static Map<String, JarCacheEntry> readEntries(File file, String key) {
+        Map<String, JarCacheEntry> result = CollectionUtils.newHashMap();
+        if (!file.isFile()) {
+            return result;
+        }
+
+        Properties properties = new Properties();
+        try {
+            InputStream stream = new FileInputStream(file);
+            try {
+                properties.load(stream);
+            } finally {
+                ResourceUtils.closeQuietly(stream);
+            }
+
+            if (!key.equals(properties.getProperty(KEY_PROPERTY))) {
+                return result;
+            }
+
+            for (String path : properties.stringPropertyNames()) {
+                if (!KEY_PROPERTY.equals(path)) {
+                    result.put(path, JarCacheEntry.fromProperty(properties.getProperty(path)));
+                }
+            }
+        } catch (Exception ex) {
+            // a broken cache, rescan all
+            result.clear();
+        }
+
+        return result;
+    }
+
+    private static final class JarCacheEntry {
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final boolean fromCache;
+
+        private final Set<String> annotated = CollectionUtils.newHashSet();
+
+        JarCacheEntry(long size, long lastModified, boolean fromCache) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fromCache = fromCache;
+        }
+
+        boolean hasSameFingerprint(JarCacheEntry other) {
+            return size == other.size && lastModified == other.lastModified;
+        }
+
+        String toProperty() {
+            StringBuilder result = new StringBuilder().append(size).append(SEPARATOR)
+                    .append(lastModified);
+            for (String resource : annotated) {
+                result.append(SEPARATOR).append(resource);
+            }
+            return result.toString();
+        }
+
+        static JarCacheEntry fromProperty(String value) {
+            String[] values = StringUtils.split(value, SEPARATOR);
+            JarCacheEntry result = new JarCacheEntry(Long.parseLong(values[0]),
+                    Long.parseLong(values[1]), true);
+            for (int i = 2; i < values.length; i++) {
+                result.annotated.add(values[i]);
+            }
+            return result;
+        }
+
+    }
+
+}
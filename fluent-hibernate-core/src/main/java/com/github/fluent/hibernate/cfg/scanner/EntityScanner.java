@@ -4,29 +4,42 @@ import com.github.fluent.hibernate.internal.util.InternalUtils;
 import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
 import com.github.fluent.hibernate.internal.util.InternalUtils.ClassUtils;
 import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.StringUtils;
 import org.hibernate.cfg.Configuration;
 
 import javax.persistence.Entity;
+import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 /**
+ * Scans packages for entities. Classes of a jar or a directory with an index, generated by
+ * {@link EntityIndexProcessor}, are taken from the index without reading class files.
+ *
  * @author V.Ladynev
  */
 public final class EntityScanner {
 
-    private AnnotationChecker checker;
+    /** A count of class files, checked by one parallel task. */
+    private static final int CHECK_CHUNK_SIZE = 256;
 
     private List<ClassLoader> loaders;
 
     private final String[] packagesToScan;
 
+    private final ScanOptions options;
+
+    private EntityScanCache cache;
+
     private List<Class<?>> result = CollectionUtils.newArrayList();
 
-    private EntityScanner(String[] packagesToScan) {
+    private EntityScanner(String[] packagesToScan, ScanOptions options) {
         this.packagesToScan = packagesToScan;
+        this.options = options;
     }
 
     /**
@@ -68,54 +81,201 @@ public final class EntityScanner {
         return scanPackages(packages, loaders, Entity.class);
     }
 
+    /**
+     * Scan packages for the @Entity annotation.
+     *
+     * @param options  options of scanning, like a parallel scanning
+     * @param packages one or more Java package names
+     *
+     * @return EntityScanner for fluent calls
+     */
+    public static EntityScanner scanPackages(ScanOptions options, String... packages) {
+        Asserts.isTrue(options != null, "Scan options should be specified.");
+        Asserts.isTrue(!CollectionUtils.isEmptyEllipsis(packages),
+                "You should to specify at least one package to scan.");
+        return scanPackages(packages, null, Entity.class, options);
+    }
+
     static EntityScanner scanPackages(String[] packages, List<ClassLoader> loaders,
                                       Class<? extends Annotation> annotation) {
+        return scanPackages(packages, loaders, annotation, ScanOptions.create());
+    }
+
+    static EntityScanner scanPackages(String[] packages, List<ClassLoader> loaders,
+                                      Class<? extends Annotation> annotation, ScanOptions options) {
         try {
-            return scanPackagesInternal(packages, loaders, annotation);
+            return scanPackagesInternal(packages, loaders, annotation, options);
         } catch (Exception ex) {
             throw InternalUtils.toRuntimeException(ex);
         }
     }
 
     private static EntityScanner scanPackagesInternal(String[] packages, List<ClassLoader> loaders,
-                                                      Class<? extends Annotation> annotation) throws Exception {
-        EntityScanner scanner = new EntityScanner(packages);
+            Class<? extends Annotation> annotation, ScanOptions options) throws Exception {
+        EntityScanner scanner = new EntityScanner(packages, options);
         scanner.loaders = loaders;
-        scanner.scan(annotation);
+        if (options.getCacheFile() != null) {
+            scanner.cache = EntityScanCache.load(options.getCacheFile(),
+                    getCacheKey(packages, annotation));
+        }
+
+        if (options.isParallel()) {
+            scanner.scanInParallel(annotation);
+        } else {
+            scanner.scan(annotation);
+        }
+
+        if (scanner.cache != null) {
+            scanner.cache.save();
+        }
         return scanner;
     }
 
+    private static String getCacheKey(String[] packages, Class<? extends Annotation> annotation) {
+        return annotation.getName() + ":"
+                + (packages == null ? "*" : StringUtils.join(packages, ","));
+    }
+
     private void scan(Class<? extends Annotation> annotation) throws Exception {
-        checker = new AnnotationChecker(annotation);
+        final AnnotationChecker checker = new AnnotationChecker(annotation);
 
-        ClasspathScanner scanner = new ClasspathScanner(new ClasspathScanner.IResourceAcceptor() {
+        createClasspathScanner(annotation, new ClasspathScanner.IResourceAcceptor() {
             @Override
-            public void accept(String resource, ClassLoader loader) throws Exception {
-                addClassToResult(resource, loader);
+            public void accept(String resource, ClassLoader loader, File jar)
+                    throws Exception {
+                if (isAnnotatedClass(checker, new ClassResource(resource, loader, jar))) {
+                    addClassToResult(resource, loader);
+                }
             }
-        });
+        }).scan();
+    }
+
+    /**
+     * Jars and directories are read, and class files are checked on a pool of threads. Each task
+     * uses its own checker. Classes are loaded in the current thread, in the order of the scanning
+     * in the current thread.
+     */
+    private void scanInParallel(Class<? extends Annotation> annotation) throws Exception {
+        final List<ClassResource> classResources = CollectionUtils.newArrayList();
+
+        ExecutorService executor = ParallelTasks.createExecutor(options.getThreadsCount());
+        try {
+            createClasspathScanner(annotation, new ClasspathScanner.IResourceAcceptor() {
+                @Override
+                public void accept(String resource, ClassLoader loader, File jar) {
+                    if (ResourceUtils.hasClassExtension(resource)) {
+                        classResources.add(new ClassResource(resource, loader, jar));
+                    }
+                }
+            }).scan(executor);
+
+            for (List<ClassResource> annotated : checkInParallel(executor, classResources,
+                    annotation)) {
+                for (ClassResource classResource : annotated) {
+                    addClassToResult(classResource.resource, classResource.loader);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<List<ClassResource>> checkInParallel(ExecutorService executor,
+            List<ClassResource> classResources, final Class<? extends Annotation> annotation)
+            throws Exception {
+        List<Callable<List<ClassResource>>> tasks = CollectionUtils.newArrayList();
+
+        for (int from = 0; from < classResources.size(); from += CHECK_CHUNK_SIZE) {
+            final List<ClassResource> chunk = classResources.subList(from,
+                    Math.min(from + CHECK_CHUNK_SIZE, classResources.size()));
+            tasks.add(new Callable<List<ClassResource>>() {
+                @Override
+                public List<ClassResource> call() throws Exception {
+                    AnnotationChecker checker = new AnnotationChecker(annotation);
+                    List<ClassResource> result = CollectionUtils.newArrayList();
+                    for (ClassResource classResource : chunk) {
+                        if (isAnnotatedClass(checker, classResource)) {
+                            result.add(classResource);
+                        }
+                    }
+                    return result;
+                }
+            });
+        }
+
+        return ParallelTasks.invokeAll(executor, tasks);
+    }
+
+    /**
+     * Create a scanner and add classes from indexes of jars and directories to the result. The
+     * scanner skips jars and directories with an index, if the index has classes with the
+     * annotation.
+     */
+    private ClasspathScanner createClasspathScanner(Class<? extends Annotation> annotation,
+            ClasspathScanner.IResourceAcceptor acceptor) throws IOException {
+        ClasspathScanner result = new ClasspathScanner(acceptor);
 
         if (packagesToScan == null) {
-            scanner.allPackagesToScan();
+            result.allPackagesToScan();
         } else {
-            scanner.setPackagesToScan(Arrays.asList(packagesToScan));
+            result.setPackagesToScan(Arrays.asList(packagesToScan));
+            addClassesFromIndexes(result, annotation);
         }
 
-        scanner.setLoaders(loaders);
+        result.setLoaders(loaders);
 
-        scanner.scan();
+        return result;
     }
 
-    private void addClassToResult(String resource, ClassLoader loader) throws IOException {
-        if (!ResourceUtils.hasClassExtension(resource)) {
+    private void addClassesFromIndexes(ClasspathScanner scanner,
+            Class<? extends Annotation> annotation) throws IOException {
+        if (!EntityIndex.isIndexed(annotation.getName())) {
             return;
         }
 
+        List<String> resourcesToScan = ResourceUtils
+                .packagesAsResourcePath(Arrays.asList(packagesToScan));
+
+        for (EntityIndex index : EntityIndex.find(getLoaders())) {
+            scanner.skip(index.getRoot(), index.getClassResources());
+            for (String resource : index.getClassResources(annotation.getName(),
+                    resourcesToScan)) {
+                addClassToResult(resource, index.getLoader());
+            }
+        }
+    }
+
+    private List<ClassLoader> getLoaders() {
+        return CollectionUtils.isEmpty(loaders) ? ClassLoaderUtils.defaultClassLoaders()
+                : loaders;
+    }
+
+    /**
+     * Check a class resource using the cache, if it is specified. This method is thread safe.
+     */
+    private boolean isAnnotatedClass(AnnotationChecker checker, ClassResource classResource)
+            throws IOException {
+        if (!ResourceUtils.hasClassExtension(classResource.resource)) {
+            return false;
+        }
+
+        boolean cacheable = cache != null && classResource.jar != null;
+        Boolean cached = cacheable ? cache.isAnnotated(classResource.jar, classResource.resource)
+                : null;
+        if (cached != null) {
+            return cached;
+        }
+
         // in JDK 8 getResourceAsStream() returns null for version.rc
-        if (!checker.hasAnnotation(loader.getResourceAsStream(resource))) {
-            return;
+        boolean result = checker.hasAnnotation(
+                classResource.loader.getResourceAsStream(classResource.resource));
+        if (cacheable) {
+            cache.put(classResource.jar, classResource.resource, result);
         }
+        return result;
+    }
 
+    private void addClassToResult(String resource, ClassLoader loader) {
         Class<?> clazz = ClassUtils.classForName(ResourceUtils.getClassNameFromPath(resource),
                 loader);
         result.add(clazz);
@@ -140,4 +300,20 @@ public final class EntityScanner {
         return result;
     }
 
+    private static final class ClassResource {
+
+        private final String resource;
+
+        private final ClassLoader loader;
+
+        private final File jar;
+
+        ClassResource(String resource, ClassLoader loader, File jar) {
+            this.resource = resource;
+            this.loader = loader;
+            this.jar = jar;
+        }
+
+    }
+
 }
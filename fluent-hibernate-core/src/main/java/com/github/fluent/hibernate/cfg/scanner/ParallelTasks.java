@@ -0,0 +1,83 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+
+/**
+ * Runs scanning tasks on a pool of daemon threads.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class ParallelTasks {
+
+    private ParallelTasks() {
+
+    }
+
+    public static ExecutorService createExecutor(int threadsCount) {
+        return Executors.newFixedThreadPool(threadsCount, new ScannerThreadFactory());
+    }
+
+    /**
+     * Execute tasks and wait for them.
+     *
+     * @return results in the order of tasks, independent of the order of completion
+     */
+    public static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks)
+            throws Exception {
+        List<Future<T>> futures = CollectionUtils.newArrayListWithCapacity(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+
+        List<T> result = CollectionUtils.newArrayListWithCapacity(tasks.size());
+        try {
+            for (Future<T> future : futures) {
+                result.add(get(future));
+            }
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        return result;
+    }
+
+    private static <T> T get(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw cause instanceof Exception ? (Exception) cause
+                    : InternalUtils.toRuntimeException(cause);
+        }
+    }
+
+    private static final class ScannerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread result = new Thread(runnable,
+                    "fluent-hibernate-scanner-" + threadNumber.getAndIncrement());
+            result.setDaemon(true);
+            return result;
+        }
+
+    }
+
+}
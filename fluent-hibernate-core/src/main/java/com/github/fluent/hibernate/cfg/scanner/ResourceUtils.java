@@ -54,8 +54,11 @@ final class ResourceUtils {
     }
 
     public static String classAsResource(Class<?> clazz) {
-        return clazz.getName().replace(PACKAGE_SEPARATOR, PATH_SEPARATOR)
-                + CLASS_FILE_NAME_EXTENSION;
+        return classAsResource(clazz.getName());
+    }
+
+    public static String classAsResource(String className) {
+        return className.replace(PACKAGE_SEPARATOR, PATH_SEPARATOR) + CLASS_FILE_NAME_EXTENSION;
     }
 
     public static String toDescriptor(Class<? extends Annotation> annotation) {
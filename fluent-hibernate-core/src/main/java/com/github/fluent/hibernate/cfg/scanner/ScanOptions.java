@@ -0,0 +1,75 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import java.io.File;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+
+/**
+ * Options of scanning packages for entities. By default jars and directories are scanned in the
+ * current thread, without a cache.
+ *
+ * @author V.Ladynev
+ */
+public final class ScanOptions {
+
+    private int threadsCount = 1;
+
+    private File cacheFile;
+
+    private ScanOptions() {
+
+    }
+
+    public static ScanOptions create() {
+        return new ScanOptions();
+    }
+
+    /**
+     * Scan jars and directories, and check class files in parallel, using a thread per an
+     * available processor. A result is the same, as for the scanning in the current thread.
+     */
+    public ScanOptions parallel() {
+        return parallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Scan jars and directories, and check class files in parallel.
+     *
+     * @param threadsCount
+     *            a count of scanning threads
+     */
+    public ScanOptions parallel(int threadsCount) {
+        Asserts.isTrue(threadsCount > 0, "A count of threads should be positive");
+        this.threadsCount = threadsCount;
+        return this;
+    }
+
+    /**
+     * Store annotated classes of the scanned jars in a file, and don't check classes of the jars,
+     * which are not changed since the previous scanning. A jar is considered as changed, if its
+     * size or its last modification time is changed. Directories are always scanned.
+     * <p>
+     * A class, which is duplicated in several jars, is checked only in the first of them. So the
+     * file should be removed, if such jars are reordered.
+     *
+     * @param cacheFile
+     *            a cache file, it is created, if it doesn't exist
+     */
+    public ScanOptions cacheFile(File cacheFile) {
+        this.cacheFile = cacheFile;
+        return this;
+    }
+
+    int getThreadsCount() {
+        return threadsCount;
+    }
+
+    File getCacheFile() {
+        return cacheFile;
+    }
+
+    boolean isParallel() {
+        return threadsCount > 1;
+    }
+
+}
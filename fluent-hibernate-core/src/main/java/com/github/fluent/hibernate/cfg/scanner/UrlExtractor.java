@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -17,7 +18,7 @@ final class UrlExtractor {
 
     private final List<String> resources;
 
-    private final Set<UrlWrapper> result = InternalUtils.CollectionUtils.newHashSet();
+    private final Set<UrlWrapper> result = new LinkedHashSet<UrlWrapper>();
 
     private List<ClassLoader> loaders;
 
@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.hibernate.Version;
@@ -231,6 +232,10 @@ public final class InternalUtils {
             return new ArrayList<E>();
         }
 
+        public static <E> ArrayList<E> newArrayList(Collection<? extends E> elements) {
+            return new ArrayList<E>(elements);
+        }
+
         public static <E> ArrayList<E> newArrayListWithCapacity(int size) {
             return new ArrayList<E>(size);
         }
@@ -239,6 +244,10 @@ public final class InternalUtils {
             return new HashMap<K, V>();
         }
 
+        public static <K, V> LinkedHashMap<K, V> newLinkedHashMap() {
+            return new LinkedHashMap<K, V>();
+        }
+
         public static <K> HashSet<K> newHashSet() {
             return new HashSet<K>();
         }
@@ -0,0 +1,39 @@
+package com.github.fluent.hibernate.internal.util.reflection;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A thread-safe cache of values, which are computed for classes. Classes are weak keys and values
+ * are soft references, because values (like methods) usually refer to a class. So the cache
+ * doesn't prevent classes from unloading.
+ *
+ * @author V.Ladynev
+ */
+public final class ClassCache<V> {
+
+    private final Map<Class<?>, SoftReference<V>> cache =
+            new WeakHashMap<Class<?>, SoftReference<V>>();
+
+    public static <V> ClassCache<V> create() {
+        return new ClassCache<V>();
+    }
+
+    /**
+     * @return a value or null, if there is not a value for a class
+     */
+    public synchronized V get(Class<?> clazz) {
+        SoftReference<V> result = cache.get(clazz);
+        return result == null ? null : result.get();
+    }
+
+    public synchronized void put(Class<?> clazz, V value) {
+        cache.put(clazz, new SoftReference<V>(value));
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+}
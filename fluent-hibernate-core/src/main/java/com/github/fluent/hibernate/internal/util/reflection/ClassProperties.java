@@ -0,0 +1,85 @@
+package com.github.fluent.hibernate.internal.util.reflection;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+
+/**
+ * An index of bean properties and declared fields of a class. Properties are indexed by a name in
+ * the lower case, because properties are looked up ignoring a case. An index is built once for a
+ * class and cached.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class ClassProperties {
+
+    private static final ClassCache<ClassProperties> CACHE = ClassCache.create();
+
+    private final Map<String, List<PropertyDescriptor>> descriptors = CollectionUtils.newHashMap();
+
+    private final Map<String, Field> fields = CollectionUtils.newHashMap();
+
+    private ClassProperties(Class<?> clazz) {
+        for (PropertyDescriptor descriptor : getPropertyDescriptors(clazz)) {
+            String key = toKey(descriptor.getName());
+            List<PropertyDescriptor> properties = descriptors.get(key);
+            if (properties == null) {
+                properties = CollectionUtils.newArrayList();
+                descriptors.put(key, properties);
+            }
+            properties.add(descriptor);
+        }
+
+        for (Field field : clazz.getDeclaredFields()) {
+            fields.put(field.getName(), field);
+        }
+    }
+
+    public static ClassProperties get(Class<?> clazz) {
+        ClassProperties result = CACHE.get(clazz);
+
+        if (result == null) {
+            result = new ClassProperties(clazz);
+            CACHE.put(clazz, result);
+        }
+
+        return result;
+    }
+
+    private static PropertyDescriptor[] getPropertyDescriptors(Class<?> beanClass) {
+        try {
+            return Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+        } catch (IntrospectionException ex) {
+            throw InternalUtils.toRuntimeException(ex);
+        }
+    }
+
+    private static String toKey(String propertyName) {
+        return propertyName.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return descriptors of properties with a name, ignoring a case, in the order of the bean
+     *         info
+     */
+    public List<PropertyDescriptor> getDescriptors(String propertyName) {
+        List<PropertyDescriptor> result = descriptors.get(toKey(propertyName));
+        return result == null ? Collections.<PropertyDescriptor> emptyList() : result;
+    }
+
+    /**
+     * @return a declared field with a name or null
+     */
+    public Field getDeclaredField(String name) {
+        return fields.get(name);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.github.fluent.hibernate.internal.util.reflection;
+
+import java.lang.reflect.Method;
+
+/**
+ * A setter of a nested property, which is compiled once from a {@link NestedSetter}: methods are
+ * made accessible (so access checks are not performed on each call) and constructors of
+ * intermediate objects are resolved. Getters are invoked with a shared empty arguments array, but
+ * {@link Method#invoke(Object, Object...)} of a setter still allocates an array for a value.
+ *
+ * @author V.Ladynev
+ */
+public final class CompiledSetter implements ISetter {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final NestedSetter source;
+
+    private final Method[] getMethods;
+
+    private final Method[] setMethods;
+
+    private final Instantiator[] instantiators;
+
+    private final Method method;
+
+    private CompiledSetter(NestedSetter source) {
+        this.source = source;
+        getMethods = source.getGetMethods();
+        setMethods = source.getSetMethods();
+        method = source.getMethod();
+        instantiators = new Instantiator[getMethods.length];
+
+        for (int i = 0; i < getMethods.length; i++) {
+            ReflectionUtils.makePublic(getMethods[i]);
+            ReflectionUtils.makePublic(setMethods[i]);
+            instantiators[i] = Instantiator.create(getMethods[i].getReturnType());
+        }
+
+        ReflectionUtils.makePublic(method);
+    }
+
+    /**
+     * Create a compiled setter for a nested property. The {@link NestedSetter} is returned, if
+     * methods can't be made accessible: a security manager throws {@code SecurityException}, and
+     * Java 9+ throws {@code InaccessibleObjectException} for a member of a not opened module.
+     */
+    public static ISetter create(Class<?> theClass, String propertyName) {
+        NestedSetter result = NestedSetter.create(theClass, propertyName);
+
+        try {
+            return new CompiledSetter(result);
+        } catch (RuntimeException ex) {
+            return result;
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        try {
+            invokeSet(target, value);
+        } catch (Exception ex) {
+            throw source.createSetException(ex, value);
+        }
+    }
+
+    private void invokeSet(Object target, Object value) throws Exception {
+        Object current = target;
+        for (int i = 0; i < getMethods.length; i++) {
+            Object next = getMethods[i].invoke(current, NO_ARGUMENTS);
+            if (next == null) {
+                next = instantiators[i].newInstance();
+                setMethods[i].invoke(current, next);
+            }
+            current = next;
+        }
+        method.invoke(current, value);
+    }
+
+    @Override
+    public Class<?> getValueType() {
+        return method.getParameterTypes()[0];
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.github.fluent.hibernate.internal.util.reflection;
+
+/**
+ * Sets a value of a property (may be nested) to a target object.
+ *
+ * @author V.Ladynev
+ */
+public interface ISetter {
+
+    void set(Object target, Object value);
+
+    /**
+     * @return a type of a value, which can be set
+     */
+    Class<?> getValueType();
+
+}
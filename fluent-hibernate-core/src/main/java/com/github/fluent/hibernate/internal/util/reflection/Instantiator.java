@@ -0,0 +1,65 @@
+package com.github.fluent.hibernate.internal.util.reflection;
+
+import java.lang.reflect.Constructor;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.ClassUtils;
+
+/**
+ * Creates objects of a class by a default constructor, which is found and made accessible once.
+ *
+ * @author V.Ladynev
+ */
+public final class Instantiator {
+
+    private final Class<?> clazz;
+
+    private final Constructor<?> constructor;
+
+    private Instantiator(Class<?> clazz, Constructor<?> constructor) {
+        this.clazz = clazz;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Create an instantiator. If a default constructor can't be used, objects will be created by
+     * {@link ClassUtils#newInstance(Class)}, so an error is reported on an object creation.
+     */
+    public static Instantiator create(Class<?> clazz) {
+        return new Instantiator(clazz, findDefaultConstructor(clazz));
+    }
+
+    private static Constructor<?> findDefaultConstructor(Class<?> clazz) {
+        try {
+            Constructor<?> result = clazz.getDeclaredConstructor();
+            ReflectionUtils.makePublic(result);
+            return result;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    public Object newInstance() {
+        if (constructor == null) {
+            return ClassUtils.newInstance(clazz);
+        }
+
+        try {
+            return constructor.newInstance();
+        } catch (Exception ex) {
+            throw new RuntimeException(
+                    String.format("Could not instantiate a class: %s", clazz.getName()), ex);
+        }
+    }
+
+    /**
+     * @return true, if a default constructor is found
+     */
+    public boolean hasDefaultConstructor() {
+        return constructor != null;
+    }
+
+    public Class<?> getInstantiatedClass() {
+        return clazz;
+    }
+
+}
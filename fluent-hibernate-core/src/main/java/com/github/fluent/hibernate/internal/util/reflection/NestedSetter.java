@@ -12,7 +12,7 @@ import com.github.fluent.hibernate.internal.util.InternalUtils.ClassUtils;
  * @author DoubleF1re
  * @author V.Ladynev
  */
-public final class NestedSetter {
+public final class NestedSetter implements ISetter {
 
     private final Class<?> clazz;
 
@@ -33,19 +33,29 @@ public final class NestedSetter {
         this.setMethods = setMethods;
     }
 
+    @Override
     public void set(Object target, Object value) {
         try {
             invokeSet(target, value);
         } catch (Exception ex) {
-            checkForPrimitive(value);
-            String errorMessage = String.format(
-                    "Setter information: expected type: %s, actual type: %s.",
-                    method.getParameterTypes()[0].getName(),
-                    value == null ? null : value.getClass().getName());
-            throw new PropertyAccessException(ex, errorMessage, true, clazz, propertyName);
+            throw createSetException(ex, value);
         }
     }
 
+    @Override
+    public Class<?> getValueType() {
+        return method.getParameterTypes()[0];
+    }
+
+    /* package */PropertyAccessException createSetException(Exception ex, Object value) {
+        checkForPrimitive(value);
+        String errorMessage = String.format(
+                "Setter information: expected type: %s, actual type: %s.",
+                method.getParameterTypes()[0].getName(),
+                value == null ? null : value.getClass().getName());
+        return new PropertyAccessException(ex, errorMessage, true, clazz, propertyName);
+    }
+
     private void checkForPrimitive(Object value) {
         if (value == null && method.getParameterTypes()[0].isPrimitive()) {
             throw new PropertyAccessException(null,
@@ -66,6 +76,18 @@ public final class NestedSetter {
         method.invoke(tmpTarget, new Object[] { value });
     }
 
+    /* package */Method[] getGetMethods() {
+        return getMethods;
+    }
+
+    /* package */Method[] getSetMethods() {
+        return setMethods;
+    }
+
+    /* package */Method getMethod() {
+        return method;
+    }
+
     /**
      * Create a setter for a nested property.
      */
@@ -1,7 +1,5 @@
 package com.github.fluent.hibernate.internal.util.reflection;
 
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AccessibleObject;
@@ -13,6 +11,8 @@ import com.github.fluent.hibernate.internal.util.InternalUtils;
 import com.github.fluent.hibernate.internal.util.InternalUtils.StringUtils;
 
 /**
+ * Bean properties and fields of classes are looked up using an index, which is built once for a
+ * class and cached.
  *
  * @author V.Ladynev
  */
@@ -79,9 +79,8 @@ public final class ReflectionUtils {
      * @return the getter method or null, if such getter is not exist
      */
     public static Method getClassGetter(Class<?> classToCheck, String propertyName) {
-        PropertyDescriptor[] descriptors = getPropertyDescriptors(classToCheck);
-
-        for (PropertyDescriptor descriptor : descriptors) {
+        for (PropertyDescriptor descriptor : ClassProperties.get(classToCheck)
+                .getDescriptors(propertyName)) {
             if (isGetter(descriptor, propertyName)) {
                 return descriptor.getReadMethod();
             }
@@ -130,9 +129,8 @@ public final class ReflectionUtils {
      */
     public static Method getClassSetter(Class<?> classToCheck, String propertyName,
             Class<?> propertyType) {
-        PropertyDescriptor[] descriptors = getPropertyDescriptors(classToCheck);
-
-        for (PropertyDescriptor descriptor : descriptors) {
+        for (PropertyDescriptor descriptor : ClassProperties.get(classToCheck)
+                .getDescriptors(propertyName)) {
             if (isSetter(descriptor, propertyName, propertyType)) {
                 return descriptor.getWriteMethod();
             }
@@ -152,25 +150,64 @@ public final class ReflectionUtils {
                 && (propertyType == null || method.getParameterTypes()[0].equals(propertyType));
     }
 
-    private static PropertyDescriptor[] getPropertyDescriptors(Class<?> beanClass) {
-        try {
-            return Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
-        } catch (IntrospectionException ex) {
-            throw InternalUtils.toRuntimeException(ex);
-        }
-    }
-
+    /**
+     * Find a field by a name in a class and its parent classes.
+     *
+     * @return the field or null, if such field is not exist
+     */
     public static Field findField(Class<?> classToCheck, String propertyName) {
         if (classToCheck == null || Object.class.equals(classToCheck)) {
             return null;
         }
 
+        Field result = ClassProperties.get(classToCheck).getDeclaredField(propertyName);
+        return result == null ? findField(classToCheck.getSuperclass(), propertyName) : result;
+    }
+
+    /**
+     * Get a value of a nested property, like {@code department.name}, using getters or fields.
+     *
+     * @param object
+     *            an object from which get a value
+     * @param propertyName
+     *            a nested property name
+     * @return the value or null, if some of intermediate values is null
+     */
+    public static Object getPropertyValue(Object object, String propertyName) {
+        Object result = object;
+
+        for (String part : getPropertyParts(propertyName)) {
+            if (result == null) {
+                return null;
+            }
+            result = getSimplePropertyValue(result, part);
+        }
+
+        return result;
+    }
+
+    private static Object getSimplePropertyValue(Object object, String propertyName) {
         try {
-            return classToCheck.getDeclaredField(propertyName);
-        } catch (NoSuchFieldException nsfe) {
-            return findField(classToCheck.getSuperclass(), propertyName);
+            Method getter = findGetterMethod(object.getClass(), propertyName);
+            if (getter != null) {
+                makePublic(getter);
+                return invoke(object, getter);
+            }
+
+            Field field = findField(object.getClass(), propertyName);
+            if (field != null) {
+                makePublic(field);
+                return field.get(object);
+            }
+        } catch (Exception ex) {
+            throw InternalUtils.toRuntimeException(String.format(
+                    "Can't get a value of the property `%s` of %s", propertyName,
+                    object.getClass().getName()), ex);
         }
 
+        throw new IllegalArgumentException(String.format(
+                "There is not a getter or a field for the property `%s` of %s", propertyName,
+                object.getClass().getName()));
     }
 
     public static String[] getPropertyParts(String property) {
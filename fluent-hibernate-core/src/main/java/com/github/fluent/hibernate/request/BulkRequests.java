@@ -0,0 +1,153 @@
+package com.github.fluent.hibernate.request;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.hibernate.metadata.ClassMetadata;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+
+/**
+ * Deletes and updates entities by bulk HQL requests, without loading them. Cascades, orphans
+ * removal and versions are not applied.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class BulkRequests {
+
+    /** A count of identifiers in the one bulk request. */
+    public static final int IDS_CHUNK_SIZE = ChunkedInExpression.DEFAULT_CHUNK_SIZE;
+
+    private static final String IDS_PARAMETER = "ids";
+
+    private static final String VALUE_PARAMETER = "value";
+
+    private BulkRequests() {
+
+    }
+
+    public static int deleteAll(Session session, Class<?> persistentClass) {
+        return session.createQuery("delete from " + getMetadata(session, persistentClass)
+                .getEntityName()).executeUpdate();
+    }
+
+    public static int deleteByIds(Session session, Class<?> persistentClass, Collection<?> ids) {
+        return executeByIds(session, "delete from " + getMetadata(session, persistentClass)
+                .getEntityName(), null, persistentClass, ids);
+    }
+
+    public static int updateAll(Session session, Class<?> persistentClass,
+            Map<String, Object> values) {
+        Query query = session.createQuery(createUpdate(session, persistentClass, values));
+        setValues(query, values);
+        return query.executeUpdate();
+    }
+
+    public static int updateByIds(Session session, Class<?> persistentClass,
+            Map<String, Object> values, Collection<?> ids) {
+        return executeByIds(session, createUpdate(session, persistentClass, values), values,
+                persistentClass, ids);
+    }
+
+    public static String getIdentifierPropertyName(Session session, Class<?> persistentClass) {
+        ClassMetadata metadata = getMetadata(session, persistentClass);
+        String result = metadata.getIdentifierPropertyName();
+        Asserts.isTrue(result != null, String.format(
+                "Can't use identifiers of %s, it doesn't have a simply identifier",
+                metadata.getEntityName()));
+        return result;
+    }
+
+    private static int executeByIds(Session session, String request, Map<String, Object> values,
+            Class<?> persistentClass, Collection<?> ids) {
+        String query = String.format("%s where %s in (:%s)", request,
+                getIdentifierPropertyName(session, persistentClass), IDS_PARAMETER);
+
+        Object[] distinctIds = new LinkedHashSet<Object>(ids).toArray();
+        int result = 0;
+        for (int from = 0; from < distinctIds.length; from += IDS_CHUNK_SIZE) {
+            Object[] chunk = Arrays.copyOfRange(distinctIds, from,
+                    Math.min(from + IDS_CHUNK_SIZE, distinctIds.length));
+            Query chunkQuery = session.createQuery(query).setParameterList(IDS_PARAMETER, chunk);
+            setValues(chunkQuery, values);
+            result += chunkQuery.executeUpdate();
+        }
+
+        return result;
+    }
+
+    /**
+     * Null values are set by the {@code null} literal, because a type of a null parameter can't be
+     * determined. Property names are added to the request as is, so they are checked by the
+     * metadata.
+     */
+    private static String createUpdate(Session session, Class<?> persistentClass,
+            Map<String, Object> values) {
+        Asserts.isTrue(!values.isEmpty(), "Specify properties to update");
+
+        ClassMetadata metadata = getMetadata(session, persistentClass);
+        assertProperties(metadata, values.keySet());
+
+        StringBuilder result = new StringBuilder("update ").append(metadata.getEntityName())
+                .append(" set ");
+
+        int index = 0;
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            if (index > 0) {
+                result.append(", ");
+            }
+
+            result.append(value.getKey()).append(" = ");
+            if (value.getValue() == null) {
+                result.append("null");
+            } else {
+                result.append(':').append(VALUE_PARAMETER).append(index);
+            }
+            index++;
+        }
+
+        return result.toString();
+    }
+
+    private static void assertProperties(ClassMetadata metadata, Collection<String> properties) {
+        Set<String> known = CollectionUtils.newHashSet();
+        Collections.addAll(known, metadata.getPropertyNames());
+        if (metadata.getIdentifierPropertyName() != null) {
+            known.add(metadata.getIdentifierPropertyName());
+        }
+
+        for (String property : properties) {
+            Asserts.isTrue(known.contains(property), String.format(
+                    "There is not the property `%s` in %s", property, metadata.getEntityName()));
+        }
+    }
+
+    private static void setValues(Query query, Map<String, Object> values) {
+        if (values == null) {
+            return;
+        }
+
+        int index = 0;
+        for (Object value : values.values()) {
+            if (value != null) {
+                query.setParameter(VALUE_PARAMETER + index, value);
+            }
+            index++;
+        }
+    }
+
+    private static ClassMetadata getMetadata(Session session, Class<?> persistentClass) {
+        ClassMetadata result = session.getSessionFactory().getClassMetadata(persistentClass);
+        Asserts.isTrue(result != null,
+                String.format("%s is not a persistent class", persistentClass.getName()));
+        return result;
+    }
+
+}
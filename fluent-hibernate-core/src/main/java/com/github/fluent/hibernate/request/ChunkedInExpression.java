@@ -0,0 +1,78 @@
+package com.github.fluent.hibernate.request;
+
+import java.util.Arrays;
+
+import org.hibernate.Criteria;
+import org.hibernate.HibernateException;
+import org.hibernate.criterion.CriteriaQuery;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Disjunction;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.spi.TypedValue;
+
+/**
+ * An IN restriction, which is split to the OR-ed IN restrictions, if a count of values exceeds a
+ * dialect limit (1000 for Oracle). {@link #DEFAULT_CHUNK_SIZE} is used, if a dialect doesn't have
+ * a limit.
+ * <p>
+ * It handles only a limit of values of the one IN list. All the values are still bound as
+ * parameters of the one SQL request, so a limit of request parameters (2100 for SQL Server) can be
+ * exceeded. {@link InChunks} splits a request itself for such case.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class ChunkedInExpression implements Criterion {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final long serialVersionUID = -2436325402462513283L;
+
+    private final String propertyName;
+
+    private final Object[] values;
+
+    public ChunkedInExpression(String propertyName, Object[] values) {
+        this.propertyName = propertyName;
+        this.values = values;
+    }
+
+    @Override
+    public String toSqlString(Criteria criteria, CriteriaQuery criteriaQuery)
+            throws HibernateException {
+        return toCriterion(criteriaQuery).toSqlString(criteria, criteriaQuery);
+    }
+
+    @Override
+    public TypedValue[] getTypedValues(Criteria criteria, CriteriaQuery criteriaQuery)
+            throws HibernateException {
+        return toCriterion(criteriaQuery).getTypedValues(criteria, criteriaQuery);
+    }
+
+    private Criterion toCriterion(CriteriaQuery criteriaQuery) {
+        int chunkSize = getChunkSize(criteriaQuery);
+
+        if (values.length <= chunkSize) {
+            return Restrictions.in(propertyName, values);
+        }
+
+        Disjunction result = Restrictions.disjunction();
+        for (int from = 0; from < values.length; from += chunkSize) {
+            Object[] chunk = Arrays.copyOfRange(values, from,
+                    Math.min(from + chunkSize, values.length));
+            result.add(Restrictions.in(propertyName, chunk));
+        }
+
+        return result;
+    }
+
+    private static int getChunkSize(CriteriaQuery criteriaQuery) {
+        int result = criteriaQuery.getFactory().getDialect().getInExpressionCountLimit();
+        return result > 0 ? result : DEFAULT_CHUNK_SIZE;
+    }
+
+    @Override
+    public String toString() {
+        return propertyName + " in (" + values.length + " values)";
+    }
+
+}
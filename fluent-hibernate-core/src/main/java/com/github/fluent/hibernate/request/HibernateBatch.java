@@ -0,0 +1,138 @@
+package com.github.fluent.hibernate.request;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+
+import com.github.fluent.hibernate.BatchStatistics;
+import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.IStatelessRequest;
+import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+
+/**
+ * Saves a lot of entities in the one transaction. A session is flushed and cleared every
+ * {@code batchSize} entities, so the persistence context doesn't grow. Entities are read from an
+ * iterable one by one, so a lazy iterable, which is too big to hold in the memory, can be used.
+ * <p>
+ * Inside a unit of work the session is shared with the caller, so it is only flushed, and
+ * entities, loaded by the caller, stay persistent.
+ * <p>
+ * To send inserts and updates to a database by JDBC batches, specify the same batch size with
+ * {@link com.github.fluent.hibernate.cfg.HibernateProperties#jdbcBatchSize(int)} (and
+ * {@code orderInserts()}, {@code orderUpdates()} for entities with associations).
+ *
+ * @param <T>
+ *            type of entities
+ *
+ * @author V.Ladynev
+ */
+public final class HibernateBatch<T> {
+
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final Iterable<T> entities;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private HibernateBatch(Iterable<T> entities) {
+        this.entities = entities;
+    }
+
+    public static <T> HibernateBatch<T> create(Iterable<T> entities) {
+        return new HibernateBatch<T>(entities);
+    }
+
+    public HibernateBatch<T> batchSize(int batchSize) {
+        Asserts.isTrue(batchSize > 0, "Batch size should be positive");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public BatchStatistics save() {
+        return execute(Operation.SAVE);
+    }
+
+    public BatchStatistics saveOrUpdate() {
+        return execute(Operation.SAVE_OR_UPDATE);
+    }
+
+    /**
+     * Insert entities using a stateless session. There are not persistence context snapshots, dirty
+     * checking and cascades, so it is the fastest way to insert simply entities, like records of
+     * an append-only audit table. Associated entities should be saved already.
+     * <p>
+     * A batch size is not used, because a stateless session doesn't have a persistence context.
+     * Inserts are sent by JDBC batches, if
+     * {@link com.github.fluent.hibernate.cfg.HibernateProperties#jdbcBatchSize(int)} is specified
+     * and an identifier generator is not an identity column.
+     */
+    public BatchStatistics insertStateless() {
+        long start = System.nanoTime();
+
+        int count = HibernateSessionFactory
+                .doInStatlessTransaction(new IStatelessRequest<Integer>() {
+                    @Override
+                    public Integer doInTransaction(StatelessSession session) {
+                        int result = 0;
+                        for (T entity : entities) {
+                            session.insert(entity);
+                            result++;
+                        }
+                        return result;
+                    }
+                });
+
+        return new BatchStatistics(count, System.nanoTime() - start);
+    }
+
+    private BatchStatistics execute(final Operation operation) {
+        long start = System.nanoTime();
+
+        int count = HibernateSessionFactory.doInTransaction(new IRequest<Integer>() {
+            @Override
+            public Integer doInTransaction(Session session) {
+                return execute(session, operation);
+            }
+        });
+
+        return new BatchStatistics(count, System.nanoTime() - start);
+    }
+
+    private int execute(Session session, Operation operation) {
+        boolean ownSession = !HibernateSessionFactory.isInUnitOfWork();
+        int result = 0;
+
+        for (T entity : entities) {
+            operation.execute(session, entity);
+            if (++result % batchSize == 0) {
+                session.flush();
+                if (ownSession) {
+                    session.clear();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private enum Operation {
+
+        SAVE {
+            @Override
+            public void execute(Session session, Object entity) {
+                session.save(entity);
+            }
+        },
+
+        SAVE_OR_UPDATE {
+            @Override
+            public void execute(Session session, Object entity) {
+                session.saveOrUpdate(entity);
+            }
+        };
+
+        public abstract void execute(Session session, Object entity);
+
+    }
+
+}
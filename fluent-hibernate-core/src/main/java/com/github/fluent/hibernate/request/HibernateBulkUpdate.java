@@ -0,0 +1,137 @@
+package com.github.fluent.hibernate.request;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import org.hibernate.Session;
+
+import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.cfg.HibernateAsyncExecutor;
+import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+
+/**
+ * A bulk update of entities, which match restrictions of a request. Entities are not loaded, and
+ * versions are not incremented.
+ *
+ * <pre>
+ * H.request(User.class).eq(&quot;status&quot;, status).update().set(&quot;archived&quot;, true).execute();
+ * </pre>
+ *
+ * A request without restrictions and joins is executed as the single
+ * {@code update ... set ...}. Otherwise identifiers of entities are requested by ranges, and the
+ * update is executed by {@code update ... set ... where id in (...)} for each range. A request
+ * can't have max results and a pagination.
+ *
+ * @author V.Ladynev
+ */
+public final class HibernateBulkUpdate {
+
+    private final HibernateRequest<?> request;
+
+    private final Map<String, Object> values = new LinkedHashMap<String, Object>();
+
+    private Integer chunkSize;
+
+    /* package */HibernateBulkUpdate(HibernateRequest<?> request) {
+        this.request = request;
+    }
+
+    /**
+     * Set a new value of a property. A value can be {@code null}.
+     */
+    public HibernateBulkUpdate set(String propertyName, Object value) {
+        values.put(propertyName, value);
+        return this;
+    }
+
+    /**
+     * Update entities by ranges of identifiers, each range in a separate transaction, so the one
+     * transaction doesn't hold locks for too long on a large table. The ranges are updated in
+     * the one transaction, if the update is executed inside a unit of work.
+     *
+     * @param chunkSize
+     *            a count of entities in the one range
+     */
+    public HibernateBulkUpdate byChunks(int chunkSize) {
+        Asserts.isTrue(chunkSize > 0, "Chunk size should be positive");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @return a count of updated entities
+     */
+    public int execute() {
+        Asserts.isTrue(!values.isEmpty(), "Specify properties to update");
+        return chunkSize == null ? executeAll() : executeByChunks();
+    }
+
+    /**
+     * Execute {@link #execute()} asynchronously. The update shouldn't be changed after this call.
+     *
+     * @see HibernateAsyncExecutor
+     */
+    public Future<Integer> executeAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return execute();
+            }
+        });
+    }
+
+    private int executeAll() {
+        return HibernateSessionFactory.doInTransaction(new IRequest<Integer>() {
+            @Override
+            public Integer doInTransaction(Session session) {
+                return request.hasRestrictions()
+                        ? request.executeByIdRanges(session, new HibernateRequest.IIdsRequest() {
+                            @Override
+                            public int execute(Session session, List<?> ids) {
+                                return BulkRequests.updateByIds(session,
+                                        request.getPersistentClass(), values, ids);
+                            }
+                        }) : BulkRequests.updateAll(session, request.getPersistentClass(), values);
+            }
+        });
+    }
+
+    /**
+     * A range of identifiers is requested by the last identifier of the previous range, so only
+     * the one range is in the memory.
+     */
+    private int executeByChunks() {
+        int result = 0;
+        List<?> ids = listIds(null);
+        while (!ids.isEmpty()) {
+            result += updateByIds(ids);
+            ids = listIds(ids.get(ids.size() - 1));
+        }
+
+        return result;
+    }
+
+    private List<?> listIds(final Object afterId) {
+        return HibernateSessionFactory.doInTransaction(new IRequest<List<?>>() {
+            @Override
+            public List<?> doInTransaction(Session session) {
+                return request.listIds(session, afterId, chunkSize);
+            }
+        });
+    }
+
+    private int updateByIds(final List<?> ids) {
+        return HibernateSessionFactory.doInTransaction(new IRequest<Integer>() {
+            @Override
+            public Integer doInTransaction(Session session) {
+                return BulkRequests.updateByIds(session, request.getPersistentClass(), values,
+                        ids);
+            }
+        });
+    }
+
+}
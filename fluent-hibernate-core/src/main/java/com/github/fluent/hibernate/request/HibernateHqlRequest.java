@@ -2,6 +2,9 @@ package com.github.fluent.hibernate.request;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Future;
+
+import javax.persistence.AccessType;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
@@ -62,6 +65,15 @@ public final class HibernateHqlRequest<T> {
         return this;
     }
 
+    /**
+     * Transform results to objects of a class. Values are set directly to fields with the
+     * {@link AccessType#FIELD} access.
+     */
+    public HibernateHqlRequest<T> transform(Class<?> clazz, AccessType accessType) {
+        query.transform(clazz, accessType);
+        return this;
+    }
+
     public HibernateHqlRequest<T> useTransformer(ResultTransformer transformer) {
         query.useTransformer(transformer);
         return this;
@@ -80,6 +92,33 @@ public final class HibernateHqlRequest<T> {
         return query.count();
     }
 
+    /**
+     * Execute {@link #first()} asynchronously. The request shouldn't be changed after this call.
+     *
+     * @see com.github.fluent.hibernate.cfg.HibernateAsyncExecutor
+     */
+    public Future<T> firstAsync() {
+        return query.firstAsync();
+    }
+
+    /**
+     * Execute {@link #list()} asynchronously. The request shouldn't be changed after this call.
+     *
+     * @see com.github.fluent.hibernate.cfg.HibernateAsyncExecutor
+     */
+    public Future<List<T>> listAsync() {
+        return query.listAsync();
+    }
+
+    /**
+     * Execute {@link #count()} asynchronously. The request shouldn't be changed after this call.
+     *
+     * @see com.github.fluent.hibernate.cfg.HibernateAsyncExecutor
+     */
+    public Future<Integer> countAsync() {
+        return query.countAsync();
+    }
+
     public static <T> HibernateHqlRequest<T> create(String query) {
         return new HibernateHqlRequest<T>(query);
     }
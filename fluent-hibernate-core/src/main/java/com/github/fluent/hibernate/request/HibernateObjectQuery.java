@@ -1,5 +1,7 @@
 package com.github.fluent.hibernate.request;
 
+import java.util.Collection;
+
 import org.hibernate.Session;
 
 import com.github.fluent.hibernate.IRequest;
@@ -31,29 +33,34 @@ public class HibernateObjectQuery<T> {
         });
     }
 
+    /**
+     * Save entities with the default batch size.
+     *
+     * @see HibernateBatch
+     */
     public static <T> Iterable<T> saveAll(final Iterable<T> entities) {
-        return HibernateSessionFactory.doInTransaction(new IRequest<Iterable<T>>() {
-            @Override
-            public Iterable<T> doInTransaction(Session session) {
-                for (T entity : entities) {
-                    session.save(entity);
-                }
-                return entities;
-            }
-        });
+        HibernateBatch.create(entities).save();
+        return entities;
     }
 
+    /**
+     * Save or update entities with the default batch size.
+     *
+     * @see HibernateBatch
+     */
     public static <T> Iterable<T> saveOrUpdateAll(final Iterable<T> entities) {
-        return HibernateSessionFactory.doInTransaction(new IRequest<Iterable<T>>() {
-            @Override
-            public Iterable<T> doInTransaction(Session session) {
-                // TODO need batch update
-                for (T entity : entities) {
-                    session.saveOrUpdate(entity);
-                }
-                return entities;
-            }
-        });
+        HibernateBatch.create(entities).saveOrUpdate();
+        return entities;
+    }
+
+    /**
+     * Insert entities using a stateless session.
+     *
+     * @see HibernateBatch#insertStateless()
+     */
+    public static <T> Iterable<T> insertAllStateless(final Iterable<T> entities) {
+        HibernateBatch.create(entities).insertStateless();
+        return entities;
     }
 
     public static <T> void delete(final T entity) {
@@ -66,6 +73,21 @@ public class HibernateObjectQuery<T> {
         });
     }
 
+    /**
+     * Delete entities by identifiers using bulk HQL requests (by chunks for a lot of identifiers),
+     * without loading entities. Cascades are not applied.
+     *
+     * @return a count of deleted entities
+     */
+    public static int deleteByIds(final Class<?> persistentClass, final Collection<?> ids) {
+        return HibernateSessionFactory.doInTransaction(new IRequest<Integer>() {
+            @Override
+            public Integer doInTransaction(Session session) {
+                return BulkRequests.deleteByIds(session, persistentClass, ids);
+            }
+        });
+    }
+
     public static <T> void deleteAll(final Iterable<T> entities) {
         HibernateSessionFactory.doInTransaction(new IRequest<Void>() {
             @Override
@@ -2,12 +2,17 @@ package com.github.fluent.hibernate.request;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import javax.persistence.AccessType;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.transform.ResultTransformer;
 
 import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.cfg.HibernateAsyncExecutor;
 import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
 import com.github.fluent.hibernate.internal.util.InternalUtils;
 import com.github.fluent.hibernate.transformer.FluentHibernateResultTransformer;
@@ -61,6 +66,15 @@ class HibernateQuery<T> {
         return this;
     }
 
+    /**
+     * Transform results to objects of a class. Values are set directly to fields with the
+     * {@link AccessType#FIELD} access.
+     */
+    public HibernateQuery<T> transform(Class<?> clazz, AccessType accessType) {
+        transformer = new FluentHibernateResultTransformer(clazz, accessType);
+        return this;
+    }
+
     public HibernateQuery<T> useTransformer(ResultTransformer transformer) {
         this.transformer = transformer;
         return this;
@@ -103,6 +117,33 @@ class HibernateQuery<T> {
         return result == null ? 0 : result.intValue();
     }
 
+    public Future<T> firstAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<T>() {
+            @Override
+            public T call() {
+                return first();
+            }
+        });
+    }
+
+    public Future<List<T>> listAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<List<T>>() {
+            @Override
+            public List<T> call() {
+                return list();
+            }
+        });
+    }
+
+    public Future<Integer> countAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return count();
+            }
+        });
+    }
+
     private Query createQuery(Session session) {
         Query result = queryFactory.create(session);
         params.setParametersToQuery(result);
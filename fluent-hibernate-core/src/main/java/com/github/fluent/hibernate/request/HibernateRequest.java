@@ -1,12 +1,20 @@
 package com.github.fluent.hibernate.request;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import javax.persistence.AccessType;
 import javax.persistence.criteria.JoinType;
 
 import org.hibernate.Criteria;
 import org.hibernate.FetchMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Order;
@@ -17,11 +25,19 @@ import org.hibernate.criterion.Restrictions;
 import org.hibernate.transform.ResultTransformer;
 
 import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.IResultConsumer;
+import com.github.fluent.hibernate.KeysetPage;
+import com.github.fluent.hibernate.KeysetPagination;
+import com.github.fluent.hibernate.ListWithCount;
 import com.github.fluent.hibernate.Pagination;
+import com.github.fluent.hibernate.cfg.HibernateAsyncExecutor;
 import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
+import com.github.fluent.hibernate.internal.util.InternalUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
 import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
 import com.github.fluent.hibernate.request.aliases.Aliases;
 import com.github.fluent.hibernate.request.builder.IBuilder;
+import com.github.fluent.hibernate.transformer.FluentHibernateGraphTransformer;
 import com.github.fluent.hibernate.transformer.FluentHibernateResultTransformer;
 
 /**
@@ -33,6 +49,9 @@ import com.github.fluent.hibernate.transformer.FluentHibernateResultTransformer;
  */
 public final class HibernateRequest<T> {
 
+    /** A fetch size and a session clear interval for {@link #forEach(IResultConsumer)}. */
+    public static final int DEFAULT_STREAM_FETCH_SIZE = 100;
+
     private final List<Criterion> restrictions = CollectionUtils.newArrayList();
 
     private final ProjectionList projections = Projections.projectionList();
@@ -51,8 +70,16 @@ public final class HibernateRequest<T> {
 
     private Pagination pagination;
 
+    private KeysetPagination keysetPagination;
+
     private Integer maxResults;
 
+    private Integer fetchSize;
+
+    private InChunks inChunks;
+
+    private boolean parallelChunks;
+
     private HibernateRequest(Class<?> persistentClass) {
         this.persistentClass = persistentClass;
     }
@@ -111,18 +138,60 @@ public final class HibernateRequest<T> {
         return this;
     }
 
+    /**
+     * Add an IN restriction. If a count of values exceeds a dialect limit, the restriction is split
+     * to the OR-ed IN restrictions. All the values are parameters of the one SQL request, use
+     * {@link #inByChunks(String, Collection, int)} for the request parameters limit.
+     */
     public HibernateRequest<T> in(String propertyName, Collection<?> values) {
         if (!CollectionUtils.isEmpty(values)) {
-            restrictions.add(Restrictions.in(propertyName, values));
+            restrictions.add(new ChunkedInExpression(propertyName, values.toArray()));
         }
         return this;
     }
 
+    /**
+     * Add an IN restriction. If a count of values exceeds a dialect limit, the restriction is split
+     * to the OR-ed IN restrictions. All the values are parameters of the one SQL request, use
+     * {@link #inByChunks(String, Collection, int)} for the request parameters limit.
+     */
     public <U> HibernateRequest<T> in(String propertyName, U... values) {
         if (!CollectionUtils.isEmpty(values)) {
-            restrictions.add(Restrictions.in(propertyName, values));
+            restrictions.add(new ChunkedInExpression(propertyName, values));
+        }
+
+        return this;
+    }
+
+    /**
+     * Add an IN restriction, which values are split to chunks. Each chunk is requested by a
+     * separate SQL request, results are merged, sorted and limited in the memory. It can be used
+     * for a lot of values, which can't be passed to the one SQL request (because of the 2100
+     * parameters limit of SQL Server, for an example).
+     * <p>
+     * Only one such restriction can be used for a request. For a correct {@link #count()} the
+     * property should have a single value for each row (it shouldn't be a property of a joined
+     * collection). Can't be used with {@link #forEach(IResultConsumer)} and {@link #keysetPage()}.
+     *
+     * @see #parallelChunks()
+     */
+    public HibernateRequest<T> inByChunks(String propertyName, Collection<?> values,
+            int chunkSize) {
+        Asserts.isTrue(inChunks == null, "Only one IN restriction can be split by chunks");
+        if (!CollectionUtils.isEmpty(values)) {
+            inChunks = new InChunks(propertyName, values, chunkSize);
         }
+        return this;
+    }
 
+    /**
+     * Request chunks of {@link #inByChunks(String, Collection, int)} in parallel, each chunk uses
+     * its own session and transaction. Chunks are executed by {@link HibernateAsyncExecutor}, so
+     * such request shouldn't be executed asynchronously itself. Can't be used with
+     * {@link FluentHibernateGraphTransformer}.
+     */
+    public HibernateRequest<T> parallelChunks() {
+        parallelChunks = true;
         return this;
     }
 
@@ -227,6 +296,15 @@ public final class HibernateRequest<T> {
         return this;
     }
 
+    /**
+     * Transform results to objects of a class. Values are set directly to fields with the
+     * {@link AccessType#FIELD} access.
+     */
+    public HibernateRequest<T> transform(Class<?> clazz, AccessType accessType) {
+        transformer = new FluentHibernateResultTransformer(clazz, accessType);
+        return this;
+    }
+
     public HibernateRequest<T> distinctToRootEntity() {
         this.transformer = Criteria.DISTINCT_ROOT_ENTITY;
         return this;
@@ -242,11 +320,34 @@ public final class HibernateRequest<T> {
         return this;
     }
 
+    /**
+     * Use the keyset pagination instead of the offset one. The sort keys are taken from
+     * {@link #orderAsc(String)} and {@link #orderDesc(String)}.
+     *
+     * @see #keysetPage()
+     */
+    public HibernateRequest<T> pagination(KeysetPagination keysetPagination) {
+        this.keysetPagination = keysetPagination;
+        return this;
+    }
+
     public HibernateRequest<T> maxResults(int maxResults) {
         this.maxResults = maxResults;
         return this;
     }
 
+    /**
+     * Specify a JDBC fetch size. For {@link #forEach(IResultConsumer)} it is used as an interval
+     * of a session clearing as well.
+     *
+     * @param fetchSize
+     *            a JDBC fetch size
+     */
+    public HibernateRequest<T> fetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
     /**
      * Sort from smallest to largest.
      */
@@ -279,6 +380,10 @@ public final class HibernateRequest<T> {
 
     @SuppressWarnings("unchecked")
     public List<T> list() {
+        if (inChunks != null) {
+            return listByChunks();
+        }
+
         return HibernateSessionFactory.doInTransaction(new IRequest<List<T>>() {
             @Override
             public List<T> doInTransaction(Session session) {
@@ -287,15 +392,194 @@ public final class HibernateRequest<T> {
         });
     }
 
+    /**
+     * Get a page of the keyset pagination with a cursor for the next page. The sort keys of the
+     * last row are read from a result object by the order property names. For a result without
+     * transformer, when projections are used, the order property names should match projection
+     * aliases.
+     *
+     * @see #pagination(KeysetPagination)
+     */
+    public KeysetPage<T> keysetPage() {
+        Asserts.isTrue(keysetPagination != null, "Specify a keyset pagination firstly");
+        assertNoChunks();
+        final int pageSize = keysetPagination.getPageSize();
+
+        List<T> results = HibernateSessionFactory.doInTransaction(new IRequest<List<T>>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public List<T> doInTransaction(Session session) {
+                // request one more row to know about the next page
+                return tuneCriteriaForList(createCriteria(session)).setMaxResults(pageSize + 1)
+                        .list();
+            }
+        });
+
+        if (results.size() <= pageSize) {
+            return new KeysetPage<T>(results, null);
+        }
+
+        List<T> page = CollectionUtils.newArrayList(results.subList(0, pageSize));
+        return new KeysetPage<T>(page,
+                SortKeys.get(page.get(pageSize - 1), orders, projections));
+    }
+
+    /**
+     * Process results one by one, without loading all of them to the memory. Results are read by a
+     * forward only scroll, a session is flushed and cleared every {@code fetchSize} rows (
+     * {@link #DEFAULT_STREAM_FETCH_SIZE} by default). So persistent objects, passed to the
+     * consumer, become detached after the consumer call. Inside a unit of work the session is
+     * shared with the caller, so it is only flushed, to don't detach entities of the caller.
+     * <p>
+     * A transformer which works with a whole list (like {@link #distinctToRootEntity()} or
+     * {@link FluentHibernateGraphTransformer}) can't be used with this method.
+     *
+     * @param consumer
+     *            a consumer of results
+     * @return a count of processed results
+     */
+    public int forEach(final IResultConsumer<? super T> consumer) {
+        assertNoChunks();
+        assertNoGraphTransformer();
+        return HibernateSessionFactory.doInTransaction(new IRequest<Integer>() {
+            @Override
+            public Integer doInTransaction(Session session) {
+                return forEach(session, consumer);
+            }
+        });
+    }
+
+    private int forEach(Session session, IResultConsumer<? super T> consumer) {
+        int streamFetchSize = getStreamFetchSize();
+        Criteria criteria = tuneCriteriaForList(createCriteria(session));
+        criteria.setFetchSize(streamFetchSize);
+        ScrollableResults results = criteria.scroll(ScrollMode.FORWARD_ONLY);
+
+        boolean ownSession = !HibernateSessionFactory.isInUnitOfWork();
+        int count = 0;
+        try {
+            while (results.next()) {
+                consumer.accept(currentRow(results));
+                // flush changes of a unit of work before clearing
+                if (++count % streamFetchSize == 0) {
+                    session.flush();
+                    if (ownSession) {
+                        session.clear();
+                    }
+                }
+            }
+        } finally {
+            results.close();
+        }
+
+        return count;
+    }
+
+    private int getStreamFetchSize() {
+        return fetchSize == null || fetchSize <= 0 ? DEFAULT_STREAM_FETCH_SIZE : fetchSize;
+    }
+
+    /**
+     * A scroll wraps a single column result (an entity or a transformed object) to an array, but
+     * returns a multiple columns projection as is.
+     */
+    @SuppressWarnings("unchecked")
+    private T currentRow(ScrollableResults results) {
+        Object[] row = results.get();
+        return (T) (row.length == 1 ? row[0] : row);
+    }
+
     // TODO may be return long?
     public int count() {
+        if (inChunks != null) {
+            return countByChunks();
+        }
+
         Number result = HibernateSessionFactory.doInTransaction(new IRequest<Number>() {
             @Override
             public Number doInTransaction(Session session) {
-                return (Number) count(createCriteria(session));
+                return count(session, null);
+            }
+        });
+        return toCount(result);
+    }
+
+    /**
+     * Execute {@link #first()} asynchronously. The request shouldn't be changed after this call.
+     *
+     * @see HibernateAsyncExecutor
+     */
+    public Future<T> firstAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<T>() {
+            @Override
+            public T call() {
+                return first();
+            }
+        });
+    }
+
+    /**
+     * Execute {@link #list()} asynchronously. The request shouldn't be changed after this call.
+     *
+     * @see HibernateAsyncExecutor
+     */
+    public Future<List<T>> listAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<List<T>>() {
+            @Override
+            public List<T> call() {
+                return list();
+            }
+        });
+    }
+
+    /**
+     * Execute {@link #count()} asynchronously. The request shouldn't be changed after this call.
+     *
+     * @see HibernateAsyncExecutor
+     */
+    public Future<Integer> countAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return count();
             }
         });
-        return result == null ? 0 : result.intValue();
+    }
+
+    /**
+     * Get results and a total count of results (without a pagination and max results) using the
+     * same session and transaction. Chunks of {@link #inByChunks(String, Collection, int)} are
+     * requested one by one in this session, even with {@link #parallelChunks()}.
+     */
+    public ListWithCount<T> listWithCount() {
+        return HibernateSessionFactory.doInTransaction(new IRequest<ListWithCount<T>>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public ListWithCount<T> doInTransaction(Session session) {
+                if (inChunks != null) {
+                    return new ListWithCount<T>(
+                            mergeChunks(executeByChunks(session, listChunkRequest())),
+                            sumCounts(executeByChunks(session, countChunkRequest())));
+                }
+
+                List<T> results = tuneCriteriaForList(createCriteria(session)).list();
+                int count = isCountEqualToSize() ? results.size() : toCount(count(session, null));
+                return new ListWithCount<T>(results, count);
+            }
+        });
+    }
+
+    /**
+     * Results are not limited and each result is a distinct root entity, so a count request is not
+     * needed.
+     */
+    private boolean isCountEqualToSize() {
+        return maxResults == null && pagination == null && keysetPagination == null
+                && aliases.isEmpty() && fetchJoinPaths == null && projections.getLength() == 0;
+    }
+
+    private static int toCount(Number count) {
+        return count == null ? 0 : count.intValue();
     }
 
     private Criteria createCriteria(Session session) {
@@ -320,6 +604,10 @@ public final class HibernateRequest<T> {
             criteria.setProjection(distinct ? Projections.distinct(projections) : projections);
         }
 
+        if (transformer instanceof FluentHibernateGraphTransformer) {
+            ((FluentHibernateGraphTransformer) transformer).reset();
+        }
+
         if (transformer != null) {
             criteria.setResultTransformer(transformer);
         }
@@ -332,19 +620,322 @@ public final class HibernateRequest<T> {
             criteria.setMaxResults(maxResults);
         }
 
+        if (fetchSize != null) {
+            criteria.setFetchSize(fetchSize);
+        }
+
         // can replace maxResults
         if (pagination != null) {
             pagination.addToCriteria(criteria);
         }
 
+        if (keysetPagination != null) {
+            keysetPagination.addToCriteria(criteria, orders);
+        }
+
         return criteria;
     }
 
-    private Object count(Criteria criteria) {
-        // TODO for requests with tables joins will be work incorrect
-        // select count(*) from (select distinct pid1, pid2 from ...) check this
-        criteria.setProjection(Projections.rowCount());
-        return criteria.uniqueResult();
+    /**
+     * Delete entities, which match the request restrictions, without loading them. A request
+     * without restrictions and joins is executed as the single bulk HQL request. Otherwise
+     * identifiers of entities are requested by ranges, and each range is deleted by a bulk HQL
+     * request, so all the identifiers are not loaded to the memory at once. Cascades are not
+     * applied. Can't be used with max results and a pagination.
+     *
+     * @return a count of deleted entities
+     */
+    public int delete() {
+        assertNoChunks();
+        assertNoLimits();
+
+        return HibernateSessionFactory.doInTransaction(new IRequest<Integer>() {
+            @Override
+            public Integer doInTransaction(Session session) {
+                return hasRestrictions() ? executeByIdRanges(session, new IIdsRequest() {
+                    @Override
+                    public int execute(Session session, List<?> ids) {
+                        return BulkRequests.deleteByIds(session, persistentClass, ids);
+                    }
+                }) : BulkRequests.deleteAll(session, persistentClass);
+            }
+        });
+    }
+
+    /**
+     * Create a bulk update of entities, which match the request restrictions. Can't be used with
+     * max results and a pagination.
+     */
+    public HibernateBulkUpdate update() {
+        assertNoChunks();
+        assertNoLimits();
+        return new HibernateBulkUpdate(this);
+    }
+
+    /* package */Class<?> getPersistentClass() {
+        return persistentClass;
+    }
+
+    /* package */boolean hasRestrictions() {
+        return !restrictions.isEmpty() || !aliases.isEmpty();
+    }
+
+    /**
+     * Execute a request for each range of identifiers of entities, which match the request
+     * restrictions, in the current session.
+     *
+     * @return a sum of counts, returned by the request
+     */
+    /* package */int executeByIdRanges(Session session, IIdsRequest idsRequest) {
+        int result = 0;
+        Object lastId = null;
+        List<?> ids = listIds(session, lastId, BulkRequests.IDS_CHUNK_SIZE);
+        while (!ids.isEmpty()) {
+            result += idsRequest.execute(session, ids);
+            lastId = ids.get(ids.size() - 1);
+            ids = listIds(session, lastId, BulkRequests.IDS_CHUNK_SIZE);
+        }
+
+        return result;
+    }
+
+    /**
+     * A range of distinct identifiers of entities, which match the request restrictions, in the
+     * ascending order. A next range is requested by the last identifier of the previous one, so
+     * entities, changed by the previous range, are not requested again.
+     *
+     * @param afterId
+     *            the last identifier of the previous range, or null for the first range
+     * @param count
+     *            a max count of identifiers in the range
+     */
+    /* package */List<?> listIds(Session session, Object afterId, int count) {
+        String idProperty = BulkRequests.getIdentifierPropertyName(session, persistentClass);
+
+        Criteria criteria = createCriteria(session);
+        if (afterId != null) {
+            criteria.add(Restrictions.gt(idProperty, afterId));
+        }
+
+        return criteria.setProjection(Projections.distinct(Projections.id()))
+                .addOrder(Order.asc(idProperty)).setMaxResults(count).list();
+    }
+
+    private List<T> listByChunks() {
+        return mergeChunks(executeByChunks(listChunkRequest()));
+    }
+
+    private IChunkRequest<List<T>> listChunkRequest() {
+        return new IChunkRequest<List<T>>() {
+            @Override
+            public List<T> execute(Session session, int chunkIndex) {
+                return listChunk(session, chunkIndex);
+            }
+        };
+    }
+
+    private List<T> mergeChunks(List<List<T>> chunksResults) {
+        List<T> results = CollectionUtils.newArrayList();
+        for (List<T> chunkResults : chunksResults) {
+            results.addAll(chunkResults);
+        }
+
+        if (distinct && projections.getLength() > 0) {
+            results = removeDuplicates(results);
+        }
+
+        if (!orders.isEmpty()) {
+            results = SortKeys.sort(results, orders, projections);
+        }
+
+        return limitChunksResults(results);
+    }
+
+    /**
+     * Each chunk is requested from the first row to the end of the requested window, because rows
+     * of the window can be in any chunk.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> listChunk(Session session, int chunkIndex) {
+        Criteria criteria = tuneCriteriaForList(createCriteria(session));
+        criteria.add(inChunks.restriction(chunkIndex));
+        criteria.setFirstResult(0);
+
+        Integer limit = getResultsLimit();
+        if (limit != null) {
+            criteria.setMaxResults(limit);
+        }
+
+        return criteria.list();
+    }
+
+    private List<T> limitChunksResults(List<T> results) {
+        Integer limit = getResultsLimit();
+        if (limit == null) {
+            return results;
+        }
+
+        int firstResult = pagination == null ? 0 : pagination.getFirstResult();
+        int size = results.size();
+        return CollectionUtils.newArrayList(
+                results.subList(Math.min(firstResult, size), Math.min(limit, size)));
+    }
+
+    /**
+     * An index of the last requested row + 1, with the same precedence as
+     * {@link #tuneCriteriaForList(Criteria)} uses.
+     */
+    private Integer getResultsLimit() {
+        Integer result = maxResults;
+
+        if (pagination != null && !pagination.isEmpty()) {
+            result = pagination.getFirstResult() + pagination.getPageSize();
+        }
+
+        if (keysetPagination != null) {
+            result = keysetPagination.getPageSize();
+        }
+
+        return result;
+    }
+
+    private static <T> List<T> removeDuplicates(List<T> results) {
+        List<T> result = CollectionUtils.newArrayListWithCapacity(results.size());
+        Set<Object> keys = CollectionUtils.newHashSet();
+
+        for (T row : results) {
+            Object key = row instanceof Object[] ? Arrays.asList((Object[]) row) : row;
+            if (keys.add(key)) {
+                result.add(row);
+            }
+        }
+
+        return result;
+    }
+
+    private int countByChunks() {
+        return sumCounts(executeByChunks(countChunkRequest()));
+    }
+
+    private IChunkRequest<Number> countChunkRequest() {
+        return new IChunkRequest<Number>() {
+            @Override
+            public Number execute(Session session, int chunkIndex) {
+                return count(session, inChunks.restriction(chunkIndex));
+            }
+        };
+    }
+
+    private static int sumCounts(List<Number> counts) {
+        int result = 0;
+        for (Number count : counts) {
+            result += toCount(count);
+        }
+
+        return result;
+    }
+
+    private <R> List<R> executeByChunks(final IChunkRequest<R> request) {
+        if (parallelChunks) {
+            assertNoGraphTransformer();
+            return executeByChunksInParallel(request);
+        }
+
+        return HibernateSessionFactory.doInTransaction(new IRequest<List<R>>() {
+            @Override
+            public List<R> doInTransaction(Session session) {
+                return executeByChunks(session, request);
+            }
+        });
+    }
+
+    private <R> List<R> executeByChunks(Session session, IChunkRequest<R> request) {
+        List<R> result = CollectionUtils.newArrayListWithCapacity(inChunks.size());
+        for (int i = 0; i < inChunks.size(); i++) {
+            result.add(request.execute(session, i));
+        }
+        return result;
+    }
+
+    private <R> List<R> executeByChunksInParallel(final IChunkRequest<R> request) {
+        List<Future<R>> futures = CollectionUtils.newArrayListWithCapacity(inChunks.size());
+        for (int i = 0; i < inChunks.size(); i++) {
+            final int chunkIndex = i;
+            futures.add(HibernateAsyncExecutor.submit(new Callable<R>() {
+                @Override
+                public R call() {
+                    return HibernateSessionFactory.doInTransaction(new IRequest<R>() {
+                        @Override
+                        public R doInTransaction(Session session) {
+                            return request.execute(session, chunkIndex);
+                        }
+                    });
+                }
+            }));
+        }
+
+        List<R> result = CollectionUtils.newArrayListWithCapacity(futures.size());
+        try {
+            for (Future<R> future : futures) {
+                result.add(future.get());
+            }
+        } catch (ExecutionException ex) {
+            throw InternalUtils.toRuntimeException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw InternalUtils.toRuntimeException(ex);
+        } finally {
+            for (Future<R> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        return result;
+    }
+
+    private void assertNoChunks() {
+        Asserts.isTrue(inChunks == null, "Can't be used with inByChunks()");
+    }
+
+    private void assertNoGraphTransformer() {
+        Asserts.isTrue(!(transformer instanceof FluentHibernateGraphTransformer),
+                "A graph transformer can't be used with forEach() and parallelChunks()");
+    }
+
+    private void assertNoLimits() {
+        Asserts.isTrue(maxResults == null && pagination == null && keysetPagination == null,
+                "Can't be used with maxResults() and pagination()");
+    }
+
+    private Number count(Session session, Criterion chunkRestriction) {
+        Criteria criteria = createCriteria(session);
+        if (chunkRestriction != null) {
+            criteria.add(chunkRestriction);
+        }
+        criteria.setProjection(aliases.isEmpty() ? Projections.rowCount()
+                : countDistinctRoots(session));
+        return (Number) criteria.uniqueResult();
+    }
+
+    /**
+     * Joins multiply root rows, so count distinct identifiers. Criteria can't count distinct
+     * tuples, so a count with joins is not supported for composite identifiers.
+     */
+    private Projection countDistinctRoots(Session session) {
+        return Projections.countDistinct(
+                BulkRequests.getIdentifierPropertyName(session, persistentClass));
+    }
+
+    private interface IChunkRequest<R> {
+
+        R execute(Session session, int chunkIndex);
+
+    }
+
+    /* package */interface IIdsRequest {
+
+        int execute(Session session, List<?> ids);
+
     }
 
 }
@@ -1,11 +1,14 @@
 package com.github.fluent.hibernate.request;
 
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
 
 import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.cfg.HibernateAsyncExecutor;
 import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
 
 /**
@@ -58,4 +61,18 @@ public final class HibernateUpdate {
 
     }
 
+    /**
+     * Execute {@link #execute()} asynchronously. The update shouldn't be changed after this call.
+     *
+     * @see HibernateAsyncExecutor
+     */
+    public Future<Integer> executeAsync() {
+        return HibernateAsyncExecutor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return execute();
+            }
+        });
+    }
+
 }
@@ -0,0 +1,46 @@
+package com.github.fluent.hibernate.request;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Restrictions;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+
+/**
+ * Distinct values of an IN restriction, split to chunks. Each chunk is requested by a separate SQL
+ * request.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class InChunks {
+
+    private final String propertyName;
+
+    private final List<Object[]> chunks = CollectionUtils.newArrayList();
+
+    public InChunks(String propertyName, Collection<?> values, int chunkSize) {
+        Asserts.isTrue(chunkSize > 0, "Chunk size should be positive");
+        this.propertyName = propertyName;
+
+        // chunks shouldn't intersect to don't get duplicates and a wrong count
+        Object[] distinctValues = new LinkedHashSet<Object>(values).toArray();
+        for (int from = 0; from < distinctValues.length; from += chunkSize) {
+            chunks.add(Arrays.copyOfRange(distinctValues, from,
+                    Math.min(from + chunkSize, distinctValues.length)));
+        }
+    }
+
+    public int size() {
+        return chunks.size();
+    }
+
+    public Criterion restriction(int chunkIndex) {
+        return Restrictions.in(propertyName, chunks.get(chunkIndex));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.fluent.hibernate.request;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.internal.util.reflection.ReflectionUtils;
+
+/**
+ * Sort keys of request results. The keys are read from a result object by the order property
+ * names. For a result without a transformer, when projections are used, the order property names
+ * should match projection aliases.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class SortKeys {
+
+    private SortKeys() {
+
+    }
+
+    public static Object[] get(Object row, List<Order> orders, ProjectionList projections) {
+        Object[] result = new Object[orders.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            String propertyName = orders.get(i).getPropertyName();
+            result[i] = row instanceof Object[]
+                    ? getFromProjection((Object[]) row, propertyName, projections)
+                    : ReflectionUtils.getPropertyValue(row, propertyName);
+        }
+
+        return result;
+    }
+
+    private static Object getFromProjection(Object[] row, String propertyName,
+            ProjectionList projections) {
+        String[] projectionAliases = projections.getAliases();
+
+        for (int i = 0; i < projectionAliases.length; i++) {
+            if (propertyName.equals(projectionAliases[i])) {
+                return row[i];
+            }
+        }
+
+        throw new IllegalArgumentException(String.format(
+                "Can't find a projection with the alias `%s` to get a sort key", propertyName));
+    }
+
+    /**
+     * Sort results in memory, like a database does. Null keys are placed last for the ascending
+     * order and first for the descending one.
+     */
+    public static <T> List<T> sort(List<T> rows, final List<Order> orders,
+            ProjectionList projections) {
+        List<Keyed<T>> keyed = CollectionUtils.newArrayListWithCapacity(rows.size());
+        for (T row : rows) {
+            keyed.add(new Keyed<T>(row, get(row, orders, projections)));
+        }
+
+        Collections.sort(keyed, new Comparator<Keyed<T>>() {
+            @Override
+            public int compare(Keyed<T> first, Keyed<T> second) {
+                for (int i = 0; i < orders.size(); i++) {
+                    int result = compareKeys(first.keys[i], second.keys[i]);
+                    if (result != 0) {
+                        return orders.get(i).isAscending() ? result : -result;
+                    }
+                }
+                return 0;
+            }
+        });
+
+        List<T> result = CollectionUtils.newArrayListWithCapacity(rows.size());
+        for (Keyed<T> row : keyed) {
+            result.add(row.row);
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareKeys(Object first, Object second) {
+        if (first == null || second == null) {
+            return first == second ? 0 : (first == null ? 1 : -1);
+        }
+
+        return ((Comparable) first).compareTo(second);
+    }
+
+    private static final class Keyed<T> {
+
+        private final T row;
+
+        private final Object[] keys;
+
+        Keyed(T row, Object[] keys) {
+            this.row = row;
+            this.keys = keys;
+        }
+
+    }
+
+}
@@ -45,6 +45,10 @@ public class Aliases {
         return this;
     }
 
+    public boolean isEmpty() {
+        return aliases.isEmpty();
+    }
+
     public void addToCriteria(Criteria criteria) {
         for (Alias alias : aliases) {
             alias.addToCriteria(criteria);
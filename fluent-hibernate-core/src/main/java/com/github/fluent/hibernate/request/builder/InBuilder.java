@@ -20,6 +20,8 @@ public class InBuilder implements IBuilder {
 
     private boolean nothingForEmptyCollection;
 
+    private int chunkSize;
+
     /*package*/InBuilder(String propertyName, Collection<?> values) {
         this.propertyName = propertyName;
         this.values = values;
@@ -30,10 +32,22 @@ public class InBuilder implements IBuilder {
         return this;
     }
 
+    /**
+     * Request values by chunks using separate SQL requests.
+     *
+     * @see HibernateRequest#inByChunks(String, Collection, int)
+     */
+    public InBuilder byChunks(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
     @Override
     public <T> void build(HibernateRequest<T> hibernateRequest) {
         if (nothingForEmptyCollection && CollectionUtils.isEmpty(values)) {
             hibernateRequest.add(getFalseRestriction());
+        } else if (chunkSize > 0) {
+            hibernateRequest.inByChunks(propertyName, values, chunkSize);
         } else {
             hibernateRequest.in(propertyName, values);
         }
@@ -0,0 +1,48 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+
+/**
+ * Indexes of aliases in a tuple. Aliases should be unique.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class AliasIndex {
+
+    private final String[] aliases;
+
+    private final Map<String, Integer> indexes = CollectionUtils.newHashMap();
+
+    /**
+     * @throws IllegalArgumentException
+     *             if aliases have duplicates, a map of a row can't have the same keys
+     */
+    public AliasIndex(String[] aliases) {
+        this.aliases = aliases;
+
+        for (int i = 0; i < aliases.length; i++) {
+            if (indexes.put(aliases[i], i) != null) {
+                throw new IllegalArgumentException(String.format(
+                        "The alias `%s` is duplicated in aliases %s", aliases[i],
+                        Arrays.toString(aliases)));
+            }
+        }
+    }
+
+    public boolean isFor(String[] aliases) {
+        return this.aliases == aliases || Arrays.equals(this.aliases, aliases);
+    }
+
+    public int indexOf(Object alias) {
+        Integer result = indexes.get(alias);
+        return result == null ? -1 : result;
+    }
+
+    public String getAlias(int index) {
+        return aliases[index];
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.internal.util.reflection.ReflectionUtils;
+
+/**
+ * Creates immutable result objects by a constructor, which parameters names match aliases. The
+ * names are taken from {@link ConstructorProperties} or from components of a Java record (records
+ * are detected by a reflection, so older Java versions are supported as well). Only the canonical
+ * constructor of a record is used. If several annotated constructors match aliases, a constructor
+ * with parameter types of the properties (of getters or fields) is used.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class ConstructorAccessor {
+
+    private final Constructor<?> constructor;
+
+    /** Tuple indexes of the constructor arguments, null if they are the same. */
+    private final int[] tupleIndexes;
+
+    private ConstructorAccessor(Constructor<?> constructor, int[] tupleIndexes) {
+        this.constructor = constructor;
+        this.tupleIndexes = tupleIndexes;
+    }
+
+    /**
+     * @return the accessor or null, if there is not a constructor, which parameters match aliases
+     * @throws IllegalArgumentException
+     *             if several constructors match aliases
+     */
+    public static ConstructorAccessor create(Class<?> resultClass, String[] aliases) {
+        Object[] recordComponents = getRecordComponents(resultClass);
+        List<Constructor<?>> candidates = CollectionUtils.newArrayList();
+
+        for (Constructor<?> constructor : resultClass.getDeclaredConstructors()) {
+            String[] names = recordComponents == null ? getConstructorProperties(constructor)
+                    : getRecordComponentNames(constructor, recordComponents);
+            if (names != null && names.length == aliases.length
+                    && constructor.getParameterTypes().length == names.length
+                    && getTupleIndexes(names, aliases) != null) {
+                candidates.add(constructor);
+            }
+        }
+
+        if (candidates.size() > 1) {
+            List<Constructor<?>> byTypes = filterByPropertyTypes(resultClass, candidates);
+            candidates = byTypes.isEmpty() ? candidates : byTypes;
+        }
+
+        if (candidates.isEmpty()) {
+            return null;
+        }
+
+        Asserts.isTrue(candidates.size() == 1, String.format(
+                "Several constructors of %s match aliases %s: %s", resultClass.getName(),
+                Arrays.toString(aliases), candidates));
+
+        Constructor<?> constructor = candidates.get(0);
+        String[] names = recordComponents == null ? getConstructorProperties(constructor)
+                : getRecordComponentNames(constructor, recordComponents);
+        int[] tupleIndexes = getTupleIndexes(names, aliases);
+        ReflectionUtils.makePublic(constructor);
+        return new ConstructorAccessor(constructor,
+                isIdentity(tupleIndexes) ? null : tupleIndexes);
+    }
+
+    /**
+     * Constructors, which parameter types are types of the properties with the parameter names.
+     */
+    private static List<Constructor<?>> filterByPropertyTypes(Class<?> resultClass,
+            List<Constructor<?>> constructors) {
+        List<Constructor<?>> result = CollectionUtils.newArrayList();
+
+        for (Constructor<?> constructor : constructors) {
+            String[] names = getConstructorProperties(constructor);
+            Class<?>[] types = constructor.getParameterTypes();
+            boolean matches = true;
+            for (int i = 0; i < names.length && matches; i++) {
+                matches = types[i].equals(getPropertyType(resultClass, names[i]));
+            }
+            if (matches) {
+                result.add(constructor);
+            }
+        }
+
+        return result;
+    }
+
+    private static Class<?> getPropertyType(Class<?> resultClass, String name) {
+        Method getter = ReflectionUtils.findGetterMethod(resultClass, name);
+        if (getter != null) {
+            return getter.getReturnType();
+        }
+
+        Field field = ReflectionUtils.findField(resultClass, name);
+        return field == null ? null : field.getType();
+    }
+
+    private static String[] getConstructorProperties(Constructor<?> constructor) {
+        ConstructorProperties result = constructor.getAnnotation(ConstructorProperties.class);
+        return result == null ? null : result.value();
+    }
+
+    /**
+     * @return the record components or null, if a class is not a record
+     */
+    private static Object[] getRecordComponents(Class<?> resultClass) {
+        try {
+            return (Object[]) Class.class.getMethod("getRecordComponents").invoke(resultClass);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @return names of the record components or null, if a constructor is not the canonical one
+     */
+    private static String[] getRecordComponentNames(Constructor<?> constructor,
+            Object[] components) {
+        Class<?>[] types = constructor.getParameterTypes();
+        if (types.length != components.length) {
+            return null;
+        }
+
+        try {
+            String[] result = new String[components.length];
+            for (int i = 0; i < components.length; i++) {
+                Class<?> componentClass = components[i].getClass();
+                if (!types[i].equals(componentClass.getMethod("getType").invoke(components[i]))) {
+                    return null;
+                }
+                result[i] = (String) componentClass.getMethod("getName").invoke(components[i]);
+            }
+            return result;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private static int[] getTupleIndexes(String[] names, String[] aliases) {
+        int[] result = new int[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            result[i] = indexOfIgnoreCase(aliases, names[i]);
+            if (result[i] < 0) {
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+    private static int indexOfIgnoreCase(String[] aliases, String name) {
+        for (int i = 0; i < aliases.length; i++) {
+            if (aliases[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isIdentity(int[] tupleIndexes) {
+        for (int i = 0; i < tupleIndexes.length; i++) {
+            if (tupleIndexes[i] != i) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public Class<?>[] getValueTypes() {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        if (tupleIndexes == null) {
+            return parameterTypes;
+        }
+
+        Class<?>[] result = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < result.length; i++) {
+            result[tupleIndexes[i]] = parameterTypes[i];
+        }
+        return result;
+    }
+
+    public Object transform(Object[] tuple) {
+        Object[] arguments = tupleIndexes == null ? tuple : getArguments(tuple);
+
+        try {
+            return constructor.newInstance(arguments);
+        } catch (Exception ex) {
+            throw InternalUtils.toRuntimeException(
+                    String.format("Can't create an object by the constructor %s with arguments %s",
+                            constructor, Arrays.toString(arguments)),
+                    ex);
+        }
+    }
+
+    private Object[] getArguments(Object[] tuple) {
+        Object[] result = new Object[tupleIndexes.length];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = tuple[tupleIndexes[i]];
+        }
+
+        return result;
+    }
+
+}
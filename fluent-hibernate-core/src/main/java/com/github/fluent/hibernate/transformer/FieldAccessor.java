@@ -0,0 +1,191 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.PropertyAccessException;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.internal.util.reflection.Instantiator;
+import com.github.fluent.hibernate.internal.util.reflection.ReflectionUtils;
+
+/**
+ * Sets values directly to fields, getters and setters are not required. Aliases are compiled to a
+ * tree of nested objects, so an intermediate object (like {@code stationarFrom} for aliases
+ * {@code stationarFrom.comment} and {@code stationarFrom.stationar.name}) is got or created only
+ * once for a tuple.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class FieldAccessor {
+
+    private final Node root;
+
+    private final Class<?>[] valueTypes;
+
+    private FieldAccessor(Node root, Class<?>[] valueTypes) {
+        this.root = root;
+        this.valueTypes = valueTypes;
+    }
+
+    public static FieldAccessor create(Class<?> resultClass, String[] aliases) {
+        NodeBuilder root = new NodeBuilder(resultClass);
+        Class<?>[] valueTypes = new Class<?>[aliases.length];
+
+        for (int i = 0; i < aliases.length; i++) {
+            valueTypes[i] = root.add(aliases[i], ReflectionUtils.getPropertyParts(aliases[i]), 0,
+                    i);
+        }
+
+        return new FieldAccessor(root.build(), valueTypes);
+    }
+
+    public Class<?>[] getValueTypes() {
+        return valueTypes.clone();
+    }
+
+    public Object transform(Object[] tuple) {
+        Object result = root.instantiator.newInstance();
+        root.fill(result, tuple);
+        return result;
+    }
+
+    private static final class Node {
+
+        private final Instantiator instantiator;
+
+        private final Field[] fields;
+
+        private final String[] aliases;
+
+        private final int[] tupleIndexes;
+
+        private final Field[] nestedFields;
+
+        private final Node[] nested;
+
+        Node(Instantiator instantiator, Field[] fields, String[] aliases, int[] tupleIndexes,
+                Field[] nestedFields, Node[] nested) {
+            this.instantiator = instantiator;
+            this.fields = fields;
+            this.aliases = aliases;
+            this.tupleIndexes = tupleIndexes;
+            this.nestedFields = nestedFields;
+            this.nested = nested;
+        }
+
+        void fill(Object target, Object[] tuple) {
+            for (int i = 0; i < fields.length; i++) {
+                set(fields[i], target, tuple[tupleIndexes[i]], aliases[i]);
+            }
+
+            for (int i = 0; i < nested.length; i++) {
+                Object nestedTarget = get(nestedFields[i], target);
+                if (nestedTarget == null) {
+                    nestedTarget = nested[i].instantiator.newInstance();
+                    set(nestedFields[i], target, nestedTarget, nestedFields[i].getName());
+                }
+                nested[i].fill(nestedTarget, tuple);
+            }
+        }
+
+        private static Object get(Field field, Object target) {
+            try {
+                return field.get(target);
+            } catch (Exception ex) {
+                throw new PropertyAccessException(ex, "Can't get a value of a field", false,
+                        field.getDeclaringClass(), field.getName());
+            }
+        }
+
+        private static void set(Field field, Object target, Object value, String alias) {
+            try {
+                field.set(target, value);
+            } catch (Exception ex) {
+                String errorMessage = String.format(
+                        "Field information: expected type: %s, actual type: %s.",
+                        field.getType().getName(),
+                        value == null ? null : value.getClass().getName());
+                throw new PropertyAccessException(ex, errorMessage, true,
+                        field.getDeclaringClass(), alias);
+            }
+        }
+
+    }
+
+    private static final class NodeBuilder {
+
+        private final Class<?> clazz;
+
+        private final List<Field> fields = CollectionUtils.newArrayList();
+
+        private final List<String> aliases = CollectionUtils.newArrayList();
+
+        private final List<Integer> tupleIndexes = CollectionUtils.newArrayList();
+
+        private final Map<String, Field> nestedFields = new LinkedHashMap<String, Field>();
+
+        private final Map<String, NodeBuilder> nested = new LinkedHashMap<String, NodeBuilder>();
+
+        NodeBuilder(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        /**
+         * @return a type of the field for the alias
+         */
+        Class<?> add(String alias, String[] parts, int partIndex, int tupleIndex) {
+            String fieldName = parts[partIndex];
+
+            if (partIndex == parts.length - 1) {
+                Field field = findField(alias, fieldName);
+                fields.add(field);
+                aliases.add(alias);
+                tupleIndexes.add(tupleIndex);
+                return field.getType();
+            }
+
+            NodeBuilder builder = nested.get(fieldName);
+            if (builder == null) {
+                Field field = findField(alias, fieldName);
+                builder = new NodeBuilder(field.getType());
+                nestedFields.put(fieldName, field);
+                nested.put(fieldName, builder);
+            }
+            return builder.add(alias, parts, partIndex + 1, tupleIndex);
+        }
+
+        private Field findField(String alias, String fieldName) {
+            Field result = ReflectionUtils.findField(clazz, fieldName);
+            if (result == null) {
+                throw new PropertyAccessException(null,
+                        String.format("Could not find a field `%s` for a property `%s`",
+                                fieldName, alias),
+                        true, clazz, fieldName);
+            }
+            ReflectionUtils.makePublic(result);
+            return result;
+        }
+
+        Node build() {
+            int[] indexes = new int[tupleIndexes.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = tupleIndexes.get(i);
+            }
+
+            Node[] nestedNodes = new Node[nested.size()];
+            int i = 0;
+            for (NodeBuilder builder : nested.values()) {
+                nestedNodes[i++] = builder.build();
+            }
+
+            return new Node(Instantiator.create(clazz), fields.toArray(new Field[fields.size()]),
+                    aliases.toArray(new String[aliases.size()]), indexes,
+                    nestedFields.values().toArray(new Field[nestedFields.size()]), nestedNodes);
+        }
+
+    }
+
+}
@@ -0,0 +1,354 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.transform.BasicTransformerAdapter;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.internal.util.reflection.CompiledSetter;
+import com.github.fluent.hibernate.internal.util.reflection.ISetter;
+import com.github.fluent.hibernate.internal.util.reflection.ReflectionUtils;
+
+/**
+ * Assembles parent objects with collections of children from flat tuples of a join in the one
+ * pass. Aliases of collection elements have the {@code []} suffix after a collection property:
+ *
+ * <pre>
+ * H.&lt;Root&gt; request(Root.class).proj(&quot;pid&quot;).proj(&quot;rootName&quot;)
+ *         .leftJoin(&quot;consultations&quot;, &quot;consultation&quot;)
+ *         .proj(&quot;consultation.pid&quot;, &quot;consultations[].pid&quot;)
+ *         .proj(&quot;consultation.consultant&quot;, &quot;consultations[].consultant&quot;)
+ *         .useTransformer(new FluentHibernateGraphTransformer(Root.class, &quot;pid&quot;)
+ *                 .childId(&quot;consultations[].pid&quot;)).list();
+ * </pre>
+ *
+ * Parents are grouped by a hash index on values of an identifier alias, so neither a parent per
+ * row nor {@code distinctToRootEntity()} is needed. Children of a parent with the same identifier
+ * are added once, a child with a null identifier or with all null values (of a left join) is not
+ * added. Without an identifier of children, each row adds a child, so such collection should be
+ * the only joined collection: rows of several collections are multiplied by joins. Tuples are
+ * transformed to parents and children like {@link FluentHibernateResultTransformer} does.
+ * <p>
+ * A transformer accumulates parents of a request till {@link #transformList(List)} and can't be
+ * used by parallel requests, {@code forEach()} and {@code parallelChunks()} of a request reject it.
+ * Pagination of such request limits tuples, rather than parents.
+ *
+ * @author V.Ladynev
+ */
+public class FluentHibernateGraphTransformer extends BasicTransformerAdapter {
+
+    private static final long serialVersionUID = -4526946123095937282L;
+
+    private static final String COLLECTION_SUFFIX = "[]";
+
+    private final Class<?> resultClass;
+
+    private final String idAlias;
+
+    private final List<String> childIdAliases = CollectionUtils.newArrayList();
+
+    private transient String[] layoutAliases;
+
+    private transient Layout layout;
+
+    private transient Map<Object, Parent> parents;
+
+    /**
+     * @param idAlias
+     *            an alias of a parent identifier, the alias is used to group tuples
+     */
+    public FluentHibernateGraphTransformer(Class<?> resultClass, String idAlias) {
+        this.resultClass = resultClass;
+        this.idAlias = idAlias;
+    }
+
+    /**
+     * @param idAlias
+     *            an alias of an identifier of children, like {@code consultations[].pid}
+     */
+    public FluentHibernateGraphTransformer childId(String idAlias) {
+        Asserts.isTrue(idAlias.contains(COLLECTION_SUFFIX), String.format(
+                "An alias of children `%s` should have the %s suffix after a collection property",
+                idAlias, COLLECTION_SUFFIX));
+        childIdAliases.add(idAlias);
+        return this;
+    }
+
+    @Override
+    public Object transformTuple(Object[] tuple, String[] aliases) {
+        if (layout == null || layoutAliases != aliases && !Arrays.equals(layoutAliases, aliases)) {
+            layout = new Layout(resultClass, idAlias, childIdAliases, aliases);
+            layoutAliases = aliases;
+        }
+
+        if (parents == null) {
+            parents = new LinkedHashMap<Object, Parent>();
+        }
+
+        Object id = tuple[layout.idIndex];
+        Parent parent = parents.get(id);
+        if (parent == null) {
+            parent = layout.createParent(tuple);
+            parents.put(id, parent);
+        }
+
+        layout.addChildren(parent, tuple);
+        return parent.result;
+    }
+
+    /**
+     * Discard parents of a previous request, which is failed before {@link #transformList(List)}.
+     * It is called before each execution of a request.
+     */
+    public void reset() {
+        parents = null;
+    }
+
+    /**
+     * @return parents in the order of the first tuple of each parent
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public List transformList(List list) {
+        List<Object> result = CollectionUtils.newArrayListWithCapacity(parents == null ? 0
+                : parents.size());
+
+        if (parents != null) {
+            for (Parent parent : parents.values()) {
+                result.add(parent.result);
+            }
+        }
+
+        parents = null;
+        return result;
+    }
+
+    private static final class Layout {
+
+        private final int idIndex;
+
+        private final Columns parentColumns;
+
+        private final ChildCollection[] collections;
+
+        Layout(Class<?> resultClass, String idAlias, List<String> childIdAliases,
+                String[] aliases) {
+            Map<String, List<Integer>> collectionIndexes =
+                    new LinkedHashMap<String, List<Integer>>();
+            List<Integer> parentIndexes = CollectionUtils.newArrayList();
+            int id = -1;
+
+            for (int i = 0; i < aliases.length; i++) {
+                int suffix = aliases[i].indexOf(COLLECTION_SUFFIX);
+                if (suffix < 0) {
+                    parentIndexes.add(i);
+                    if (aliases[i].equals(idAlias)) {
+                        id = i;
+                    }
+                    continue;
+                }
+
+                String collection = aliases[i].substring(0, suffix);
+                List<Integer> indexes = collectionIndexes.get(collection);
+                if (indexes == null) {
+                    indexes = CollectionUtils.newArrayList();
+                    collectionIndexes.put(collection, indexes);
+                }
+                indexes.add(i);
+            }
+
+            Asserts.isTrue(id >= 0, String.format(
+                    "There is not the identifier alias `%s` in aliases %s", idAlias,
+                    Arrays.toString(aliases)));
+
+            idIndex = id;
+            parentColumns = new Columns(resultClass, aliases, parentIndexes, 0);
+            collections = new ChildCollection[collectionIndexes.size()];
+
+            int i = 0;
+            for (Map.Entry<String, List<Integer>> entry : collectionIndexes.entrySet()) {
+                collections[i] = new ChildCollection(resultClass, entry.getKey(), aliases,
+                        entry.getValue(), childIdAliases);
+                Asserts.isTrue(collections.length == 1 || collections[i].idIndex >= 0,
+                        String.format("Specify an identifier of children of `%s` by childId(), "
+                                + "rows of several collections are multiplied by joins",
+                                entry.getKey()));
+                i++;
+            }
+        }
+
+        Parent createParent(Object[] tuple) {
+            Parent result = new Parent(parentColumns.transform(tuple), collections.length);
+
+            for (int i = 0; i < collections.length; i++) {
+                result.children[i] = collections[i].createCollection();
+                collections[i].setter.set(result.result, result.children[i]);
+            }
+
+            return result;
+        }
+
+        void addChildren(Parent parent, Object[] tuple) {
+            for (int i = 0; i < collections.length; i++) {
+                ChildCollection collection = collections[i];
+                Object[] values = collection.columns.select(tuple);
+                if (isAllNull(values)) {
+                    continue;
+                }
+
+                if (collection.idIndex >= 0) {
+                    Object id = values[collection.idIndex];
+                    if (id == null || !parent.childIds[i].add(id)) {
+                        continue;
+                    }
+                }
+
+                parent.children[i].add(collection.columns.transformSelected(values));
+            }
+        }
+
+        private static boolean isAllNull(Object[] values) {
+            for (Object value : values) {
+                if (value != null) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
+    private static final class ChildCollection {
+
+        private final ISetter setter;
+
+        private final boolean set;
+
+        private final Columns columns;
+
+        /** An index of an identifier in selected values, or -1. */
+        private final int idIndex;
+
+        ChildCollection(Class<?> resultClass, String property, String[] aliases,
+                List<Integer> indexes, List<String> idAliases) {
+            setter = CompiledSetter.create(resultClass, property);
+            set = Set.class.isAssignableFrom(setter.getValueType());
+            columns = new Columns(getElementClass(resultClass, property), aliases, indexes,
+                    property.length() + COLLECTION_SUFFIX.length() + 1);
+            idIndex = findIdIndex(aliases, indexes, idAliases);
+        }
+
+        private static int findIdIndex(String[] aliases, List<Integer> indexes,
+                List<String> idAliases) {
+            for (int i = 0; i < indexes.size(); i++) {
+                if (idAliases.contains(aliases[indexes.get(i)])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        Collection<Object> createCollection() {
+            return set ? new LinkedHashSet<Object>() : CollectionUtils.<Object> newArrayList();
+        }
+
+        private static Class<?> getElementClass(Class<?> resultClass, String property) {
+            Method getter = ReflectionUtils.findGetterMethod(resultClass, property);
+            Field field = getter == null ? ReflectionUtils.findField(resultClass, property)
+                    : null;
+            Type type = getter == null ? field == null ? null : field.getGenericType()
+                    : getter.getGenericReturnType();
+
+            if (type instanceof ParameterizedType) {
+                Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+                if (arguments.length == 1 && arguments[0] instanceof Class) {
+                    return (Class<?>) arguments[0];
+                }
+            }
+
+            throw new IllegalArgumentException(String.format(
+                    "Can't get an element class of the collection `%s` of %s", property,
+                    resultClass.getName()));
+        }
+
+    }
+
+    /**
+     * Tuple columns of a parent or of children.
+     */
+    private static final class Columns {
+
+        private final int[] indexes;
+
+        private final ResultPlan plan;
+
+        private final TupleConverter converter;
+
+        Columns(Class<?> clazz, String[] aliases, List<Integer> tupleIndexes, int prefixLength) {
+            indexes = new int[tupleIndexes.size()];
+            String[] properties = new String[indexes.length];
+
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = tupleIndexes.get(i);
+                properties[i] = aliases[indexes[i]].substring(prefixLength);
+            }
+
+            plan = ResultPlan.get(clazz, properties);
+            converter = new TupleConverter(plan.getValueTypes());
+        }
+
+        Object[] select(Object[] tuple) {
+            Object[] result = new Object[indexes.length];
+
+            for (int i = 0; i < indexes.length; i++) {
+                result[i] = tuple[indexes[i]];
+            }
+
+            return result;
+        }
+
+        Object transform(Object[] tuple) {
+            return transformSelected(select(tuple));
+        }
+
+        Object transformSelected(Object[] values) {
+            return plan.transform(converter.convert(values));
+        }
+
+    }
+
+    private static final class Parent {
+
+        private final Object result;
+
+        private final Collection<Object>[] children;
+
+        private final Set<Object>[] childIds;
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Parent(Object result, int collectionsCount) {
+            this.result = result;
+            children = new Collection[collectionsCount];
+            childIds = new Set[collectionsCount];
+
+            for (int i = 0; i < collectionsCount; i++) {
+                childIds[i] = CollectionUtils.newHashSet();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.github.fluent.hibernate.transformer;
+
+import org.hibernate.transform.BasicTransformerAdapter;
+
+/**
+ * Transforms tuples to read-only {@link RowMap} views with aliases as keys. Unlike
+ * {@code Transformers.ALIAS_TO_ENTITY_MAP}, a hash table is not created for each row: all rows
+ * share the one alias index.
+ *
+ * @author V.Ladynev
+ */
+public class FluentHibernateMapTransformer extends BasicTransformerAdapter {
+
+    private static final long serialVersionUID = 2915488361064498174L;
+
+    private transient AliasIndex index;
+
+    @Override
+    public Object transformTuple(Object[] tuple, String[] aliases) {
+        AliasIndex result = index;
+        if (result == null || !result.isFor(aliases)) {
+            result = new AliasIndex(aliases);
+            index = result;
+        }
+
+        return new RowMap(result, tuple);
+    }
+
+}
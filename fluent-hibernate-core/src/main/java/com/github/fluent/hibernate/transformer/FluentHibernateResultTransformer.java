@@ -1,11 +1,18 @@
 package com.github.fluent.hibernate.transformer;
 
-import org.hibernate.transform.BasicTransformerAdapter;
+import java.util.Arrays;
+
+import javax.persistence.AccessType;
 
-import com.github.fluent.hibernate.internal.util.InternalUtils.ClassUtils;
-import com.github.fluent.hibernate.internal.util.reflection.NestedSetter;
+import org.hibernate.transform.BasicTransformerAdapter;
 
 /**
+ * Transforms tuples to objects of a result class, using aliases as property names (may be nested,
+ * like {@code stationarFrom.stationar.name}). Setters are resolved once for a result class and
+ * aliases, and cached for all the process. Values are converted to property types by
+ * {@link ValueConverters}, for an example {@code BigDecimal} of a native SQL request to
+ * {@code long}.
+ *
  * @author DoubleF1re
  * @author V.Ladynev
  */
@@ -15,39 +22,66 @@ public class FluentHibernateResultTransformer extends BasicTransformerAdapter {
 
     private final Class<?> resultClass;
 
-    private NestedSetter[] setters;
+    private final AccessType accessType;
+
+    /**
+     * A plan of the last aliases. Requests with chunks can transform tuples in parallel, so the
+     * plan, the converter and the aliases are replaced together.
+     */
+    private transient volatile AliasesPlan aliasesPlan;
 
     public FluentHibernateResultTransformer(Class<?> resultClass) {
+        this(resultClass, AccessType.PROPERTY);
+    }
+
+    /**
+     * @param accessType
+     *            {@link AccessType#FIELD} to set values directly to fields, getters and setters are
+     *            not required in this case
+     */
+    public FluentHibernateResultTransformer(Class<?> resultClass, AccessType accessType) {
         this.resultClass = resultClass;
+        this.accessType = accessType;
+    }
+
+    /**
+     * Resolve and cache a transformation plan for a result class and aliases, without a request.
+     * It is used to find errors (like a wrong alias) and to generate accessors on a start up.
+     *
+     * @throws RuntimeException
+     *             if tuples with such aliases can't be transformed to the result class
+     */
+    public static void precompile(Class<?> resultClass, AccessType accessType,
+            String... aliases) {
+        ResultPlan.get(resultClass, accessType, aliases).validate();
     }
 
     @Override
     public Object transformTuple(Object[] tuple, String[] aliases) {
-        createCachedSetters(resultClass, aliases);
-
-        Object result = ClassUtils.newInstance(resultClass);
-
-        for (int i = 0; i < aliases.length; i++) {
-            setters[i].set(result, tuple[i]);
+        AliasesPlan current = aliasesPlan;
+        if (current == null || current.aliases != aliases
+                && !Arrays.equals(current.aliases, aliases)) {
+            current = new AliasesPlan(aliases, ResultPlan.get(resultClass, accessType, aliases));
+            aliasesPlan = current;
         }
 
-        return result;
+        return current.plan.transform(current.converter.convert(tuple));
     }
 
-    private void createCachedSetters(Class<?> resultClass, String[] aliases) {
-        if (setters == null) {
-            setters = createSetters(resultClass, aliases);
-        }
-    }
+    private static final class AliasesPlan {
+
+        private final String[] aliases;
+
+        private final ResultPlan plan;
 
-    private static NestedSetter[] createSetters(Class<?> resultClass, String[] aliases) {
-        NestedSetter[] result = new NestedSetter[aliases.length];
+        private final TupleConverter converter;
 
-        for (int i = 0; i < aliases.length; i++) {
-            result[i] = NestedSetter.create(resultClass, aliases[i]);
+        AliasesPlan(String[] aliases, ResultPlan plan) {
+            this.aliases = aliases;
+            this.plan = plan;
+            converter = new TupleConverter(plan.getValueTypes());
         }
 
-        return result;
     }
 
 }
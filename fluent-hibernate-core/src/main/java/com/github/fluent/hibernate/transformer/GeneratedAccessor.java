@@ -0,0 +1,103 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.Environment;
+
+import com.github.fluent.hibernate.internal.util.reflection.ReflectionUtils;
+
+/**
+ * A class, generated at runtime for a result class and aliases, which creates a result object by
+ * {@code new} and sets all values by direct setter calls. The Hibernate bytecode provider (bundled
+ * javassist) is used to generate the class. It can be generated only for a public class with a
+ * public default constructor and public getters and setters of not nested properties. A getter
+ * and a setter of a property should have the same type.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class GeneratedAccessor {
+
+    private final ReflectionOptimizer.InstantiationOptimizer instantiator;
+
+    private final ReflectionOptimizer.AccessOptimizer accessor;
+
+    private GeneratedAccessor(ReflectionOptimizer optimizer) {
+        instantiator = optimizer.getInstantiationOptimizer();
+        accessor = optimizer.getAccessOptimizer();
+    }
+
+    /**
+     * @return the accessor or null, if it can't be generated
+     */
+    public static GeneratedAccessor create(Class<?> resultClass, String[] aliases) {
+        if (!isPublic(resultClass.getModifiers()) || !hasPublicDefaultConstructor(resultClass)) {
+            return null;
+        }
+
+        String[] getterNames = new String[aliases.length];
+        String[] setterNames = new String[aliases.length];
+        Class<?>[] types = new Class<?>[aliases.length];
+
+        for (int i = 0; i < aliases.length; i++) {
+            if (ReflectionUtils.getPropertyParts(aliases[i]).length != 1) {
+                return null;
+            }
+
+            // bean info of a class contains properties of superclasses
+            Method getter = ReflectionUtils.getClassGetter(resultClass, aliases[i]);
+            Method setter = getter == null ? null
+                    : ReflectionUtils.getClassSetter(resultClass, aliases[i], getter);
+            if (setter == null || !isPublic(getter) || !isPublic(setter)) {
+                return null;
+            }
+
+            getterNames[i] = getter.getName();
+            setterNames[i] = setter.getName();
+            types[i] = getter.getReturnType();
+        }
+
+        return create(resultClass, getterNames, setterNames, types);
+    }
+
+    private static GeneratedAccessor create(Class<?> resultClass, String[] getterNames,
+            String[] setterNames, Class<?>[] types) {
+        try {
+            ReflectionOptimizer result = Environment.getBytecodeProvider()
+                    .getReflectionOptimizer(resultClass, getterNames, setterNames, types);
+            return result == null || result.getInstantiationOptimizer() == null
+                    || result.getAccessOptimizer() == null ? null : new GeneratedAccessor(result);
+        } catch (Throwable th) {
+            return null;
+        }
+    }
+
+    private static boolean hasPublicDefaultConstructor(Class<?> resultClass) {
+        try {
+            return isPublic(resultClass.getConstructor().getModifiers());
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    private static boolean isPublic(Method method) {
+        return isPublic(method.getModifiers())
+                && isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    private static boolean isPublic(int modifiers) {
+        return Modifier.isPublic(modifiers);
+    }
+
+    /**
+     * @throws RuntimeException
+     *             if a value can't be set, for an example, a value has a wrong type
+     */
+    public Object transform(Object[] tuple) {
+        Object result = instantiator.newInstance();
+        accessor.setPropertyValues(result, tuple);
+        return result;
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.github.fluent.hibernate.transformer;
+
+/**
+ * Converts a not null value of a tuple to a type of a result class property.
+ *
+ * @author V.Ladynev
+ */
+public interface IValueConverter<S, T> {
+
+    T convert(S value);
+
+}
@@ -0,0 +1,185 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.AccessType;
+
+import com.github.fluent.hibernate.internal.util.InternalUtils;
+import com.github.fluent.hibernate.internal.util.InternalUtils.Asserts;
+import com.github.fluent.hibernate.internal.util.reflection.ClassCache;
+import com.github.fluent.hibernate.internal.util.reflection.CompiledSetter;
+import com.github.fluent.hibernate.internal.util.reflection.ISetter;
+import com.github.fluent.hibernate.internal.util.reflection.Instantiator;
+
+/**
+ * An immutable plan of a transformation of tuples to objects of a result class, for the one
+ * aliases layout. Plans are cached for all the process, by a result class, an access type and
+ * aliases, so repeated requests don't resolve setters again.
+ * <p>
+ * With the {@link AccessType#FIELD} access values are set by a {@link FieldAccessor}. With the
+ * {@link AccessType#PROPERTY} access a class without a default constructor is created by a
+ * {@link ConstructorAccessor}. For other classes a {@link GeneratedAccessor} is used, if it can be
+ * generated, and compiled setters otherwise.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class ResultPlan {
+
+    private static final ClassCache<Map<Key, ResultPlan>> CACHE = ClassCache.create();
+
+    private final ConstructorAccessor constructor;
+
+    private final FieldAccessor fields;
+
+    private final GeneratedAccessor generated;
+
+    private final Instantiator instantiator;
+
+    private final ISetter[] setters;
+
+    private ResultPlan(Class<?> resultClass, AccessType accessType, String[] aliases) {
+        fields = accessType == AccessType.FIELD ? FieldAccessor.create(resultClass, aliases)
+                : null;
+        constructor = fields != null || hasDefaultConstructor(resultClass) ? null
+                : ConstructorAccessor.create(resultClass, aliases);
+        boolean useSetters = fields == null && constructor == null;
+        generated = useSetters ? GeneratedAccessor.create(resultClass, aliases) : null;
+        instantiator = useSetters ? Instantiator.create(resultClass) : null;
+        setters = useSetters ? createSetters(resultClass, aliases) : null;
+    }
+
+    private static boolean hasDefaultConstructor(Class<?> resultClass) {
+        try {
+            resultClass.getDeclaredConstructor();
+            return true;
+        } catch (NoSuchMethodException ex) {
+            return false;
+        }
+    }
+
+    private static ISetter[] createSetters(Class<?> resultClass, String[] aliases) {
+        ISetter[] result = new ISetter[aliases.length];
+
+        for (int i = 0; i < aliases.length; i++) {
+            result[i] = CompiledSetter.create(resultClass, aliases[i]);
+        }
+
+        return result;
+    }
+
+    public static ResultPlan get(Class<?> resultClass, String[] aliases) {
+        return get(resultClass, AccessType.PROPERTY, aliases);
+    }
+
+    public static ResultPlan get(Class<?> resultClass, AccessType accessType, String[] aliases) {
+        Map<Key, ResultPlan> plans = getPlans(resultClass);
+        Key key = new Key(accessType, aliases.clone());
+
+        ResultPlan result = plans.get(key);
+        if (result == null) {
+            result = new ResultPlan(resultClass, accessType, aliases);
+            plans.put(key, result);
+        }
+
+        return result;
+    }
+
+    private static Map<Key, ResultPlan> getPlans(Class<?> resultClass) {
+        synchronized (CACHE) {
+            Map<Key, ResultPlan> result = CACHE.get(resultClass);
+            if (result == null) {
+                result = new ConcurrentHashMap<Key, ResultPlan>();
+                CACHE.put(resultClass, result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Check that result objects can be created.
+     */
+    public void validate() {
+        Asserts.isTrue(instantiator == null || instantiator.hasDefaultConstructor(),
+                String.format(
+                        "%s doesn't have a default constructor or a constructor, "
+                                + "which parameters match aliases",
+                        instantiator == null ? null
+                                : instantiator.getInstantiatedClass().getName()));
+    }
+
+    /**
+     * @return types of values, which can be set, for tuple columns
+     */
+    public Class<?>[] getValueTypes() {
+        if (fields != null) {
+            return fields.getValueTypes();
+        }
+
+        if (constructor != null) {
+            return constructor.getValueTypes();
+        }
+
+        Class<?>[] result = new Class<?>[setters.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = setters[i].getValueType();
+        }
+        return result;
+    }
+
+    public Object transform(Object[] tuple) {
+        if (fields != null) {
+            return fields.transform(tuple);
+        }
+
+        if (constructor != null) {
+            return constructor.transform(tuple);
+        }
+
+        // exceptions of setters are not caught, so a setter is not called twice
+        return generated == null ? transformBySetters(tuple) : generated.transform(tuple);
+    }
+
+    /**
+     * Setters are used, if an accessor can't be generated for a result class and aliases.
+     */
+    private Object transformBySetters(Object[] tuple) {
+        Object result = instantiator.newInstance();
+
+        for (int i = 0; i < setters.length; i++) {
+            setters[i].set(result, tuple[i]);
+        }
+
+        return result;
+    }
+
+    private static final class Key {
+
+        private final AccessType accessType;
+
+        private final String[] aliases;
+
+        Key(AccessType accessType, String[] aliases) {
+            this.accessType = accessType;
+            this.aliases = aliases;
+        }
+
+        @Override
+        public int hashCode() {
+            return InternalUtils.hashCode(accessType, Arrays.hashCode(aliases));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return accessType == other.accessType && Arrays.equals(aliases, other.aliases);
+        }
+
+    }
+
+}
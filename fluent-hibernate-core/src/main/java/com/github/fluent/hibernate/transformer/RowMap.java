@@ -0,0 +1,86 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read-only map view of a tuple. All rows of a request share the one alias index, so a row
+ * holds only a reference to the tuple.
+ *
+ * @author V.Ladynev
+ */
+public final class RowMap extends AbstractMap<String, Object> {
+
+    private final AliasIndex index;
+
+    private final Object[] tuple;
+
+    /* package */RowMap(AliasIndex index, Object[] tuple) {
+        this.index = index;
+        this.tuple = tuple;
+    }
+
+    @Override
+    public Object get(Object alias) {
+        int result = index.indexOf(alias);
+        return result < 0 ? null : tuple[result];
+    }
+
+    @Override
+    public boolean containsKey(Object alias) {
+        return index.indexOf(alias) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return tuple.length;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return tuple.length;
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+            return next < tuple.length;
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Map.Entry<String, Object> result = new AbstractMap.SimpleImmutableEntry<String, Object>(
+                    index.getAlias(next), tuple[next]);
+            next++;
+            return result;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.fluent.hibernate.transformer;
+
+/**
+ * Converts values of tuples to types of result class properties by {@link ValueConverters}. A
+ * converter is found for a column by the first not null value, and is found again only if a class
+ * of a value is changed. A tuple is copied, if some of its values are converted.
+ * <p>
+ * A converter can be used by several threads. A column is immutable, so a thread sees either a
+ * column, found by other thread, or null and finds the column itself.
+ *
+ * @author V.Ladynev
+ */
+/* package */final class TupleConverter {
+
+    private final Class<?>[] valueTypes;
+
+    private final Column[] columns;
+
+    public TupleConverter(Class<?>[] valueTypes) {
+        this.valueTypes = valueTypes;
+        columns = new Column[valueTypes.length];
+    }
+
+    public Object[] convert(Object[] tuple) {
+        Object[] result = tuple;
+
+        for (int i = 0; i < columns.length; i++) {
+            Object value = tuple[i];
+            if (value == null) {
+                continue;
+            }
+
+            Column column = columns[i];
+            if (column == null || column.sourceClass != value.getClass()) {
+                column = new Column(value.getClass(),
+                        ValueConverters.find(value.getClass(), valueTypes[i]));
+                columns[i] = column;
+            }
+
+            if (column.converter != null) {
+                if (result == tuple) {
+                    result = tuple.clone();
+                }
+                result[i] = column.converter.convert(value);
+            }
+        }
+
+        return result;
+    }
+
+    private static final class Column {
+
+        private final Class<?> sourceClass;
+
+        private final IValueConverter<Object, Object> converter;
+
+        Column(Class<?> sourceClass, IValueConverter<Object, Object> converter) {
+            this.sourceClass = sourceClass;
+            this.converter = converter;
+        }
+
+    }
+
+}
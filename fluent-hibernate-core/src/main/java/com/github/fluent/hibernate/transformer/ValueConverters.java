@@ -0,0 +1,322 @@
+package com.github.fluent.hibernate.transformer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of converters of tuple values, which is used by
+ * {@link FluentHibernateResultTransformer}. A converter is found once for a column (by the first
+ * not null value) and is used for all other rows. Conversions between numbers, booleans from
+ * numbers, characters from strings, enums from strings and numbers, and between date types are
+ * registered by default. A number is converted to an integral type or to an enum ordinal only
+ * exactly, a fractional part or an overflow cause {@code IllegalArgumentException}.
+ * <p>
+ * Other converters can be registered by {@link #register(Class, Class, IValueConverter)}, for an
+ * example, a converter from {@code Timestamp} to {@code java.time.Instant}.
+ *
+ * @author V.Ladynev
+ */
+public final class ValueConverters {
+
+    private static final Map<List<Class<?>>, IValueConverter<?, ?>> CONVERTERS =
+            new ConcurrentHashMap<List<Class<?>>, IValueConverter<?, ?>>();
+
+    static {
+        registerNumberConverters();
+        registerDateConverters();
+
+        register(Number.class, Boolean.class, new IValueConverter<Number, Boolean>() {
+            @Override
+            public Boolean convert(Number value) {
+                return value.intValue() != 0;
+            }
+        });
+
+        register(String.class, Character.class, new IValueConverter<String, Character>() {
+            @Override
+            public Character convert(String value) {
+                return value.length() == 0 ? null : value.charAt(0);
+            }
+        });
+    }
+
+    private ValueConverters() {
+
+    }
+
+    /**
+     * Register a converter. A converter for a source class is used for subclasses of the source
+     * class as well.
+     */
+    public static <S, T> void register(Class<S> sourceClass, Class<T> targetClass,
+            IValueConverter<? super S, ? extends T> converter) {
+        CONVERTERS.put(key(sourceClass, targetClass), converter);
+    }
+
+    /**
+     * Find a converter.
+     *
+     * @param targetClass
+     *            a type of a property, can be primitive
+     * @return the converter, or null if a conversion is not needed or there is not a converter
+     */
+    public static IValueConverter<Object, Object> find(Class<?> sourceClass,
+            Class<?> targetClass) {
+        Class<?> target = wrap(targetClass);
+
+        if (target.isAssignableFrom(sourceClass)) {
+            return null;
+        }
+
+        if (target.isEnum()) {
+            return findEnumConverter(sourceClass, target);
+        }
+
+        for (Class<?> source = sourceClass; source != null; source = source.getSuperclass()) {
+            IValueConverter<Object, Object> result = get(source, target);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IValueConverter<Object, Object> get(Class<?> sourceClass,
+            Class<?> targetClass) {
+        return (IValueConverter<Object, Object>) CONVERTERS.get(key(sourceClass, targetClass));
+    }
+
+    private static List<Class<?>> key(Class<?> sourceClass, Class<?> targetClass) {
+        return Arrays.<Class<?>> asList(sourceClass, targetClass);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static IValueConverter<Object, Object> findEnumConverter(Class<?> sourceClass,
+            final Class<?> enumClass) {
+        if (String.class.equals(sourceClass)) {
+            return new IValueConverter<Object, Object>() {
+                @Override
+                public Object convert(Object value) {
+                    return Enum.valueOf((Class) enumClass, (String) value);
+                }
+            };
+        }
+
+        if (Number.class.isAssignableFrom(sourceClass)) {
+            return new IValueConverter<Object, Object>() {
+                @Override
+                public Object convert(Object value) {
+                    Object[] constants = enumClass.getEnumConstants();
+                    long ordinal;
+                    try {
+                        ordinal = toLongExact((Number) value, 0, constants.length - 1,
+                                enumClass);
+                    } catch (IllegalArgumentException ex) {
+                        throw new IllegalArgumentException(String.format(
+                                "There is not a constant with the ordinal %s in %s", value,
+                                enumClass.getName()), ex);
+                    }
+                    return constants[(int) ordinal];
+                }
+            };
+        }
+
+        return null;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == char.class) {
+            return Character.class;
+        }
+
+        return type;
+    }
+
+    private static void registerNumberConverters() {
+        register(Number.class, Long.class, new IValueConverter<Number, Long>() {
+            @Override
+            public Long convert(Number value) {
+                return toLongExact(value, Long.MIN_VALUE, Long.MAX_VALUE, Long.class);
+            }
+        });
+
+        register(Number.class, Integer.class, new IValueConverter<Number, Integer>() {
+            @Override
+            public Integer convert(Number value) {
+                return (int) toLongExact(value, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        Integer.class);
+            }
+        });
+
+        register(Number.class, Short.class, new IValueConverter<Number, Short>() {
+            @Override
+            public Short convert(Number value) {
+                return (short) toLongExact(value, Short.MIN_VALUE, Short.MAX_VALUE, Short.class);
+            }
+        });
+
+        register(Number.class, Byte.class, new IValueConverter<Number, Byte>() {
+            @Override
+            public Byte convert(Number value) {
+                return (byte) toLongExact(value, Byte.MIN_VALUE, Byte.MAX_VALUE, Byte.class);
+            }
+        });
+
+        register(Number.class, Double.class, new IValueConverter<Number, Double>() {
+            @Override
+            public Double convert(Number value) {
+                return value.doubleValue();
+            }
+        });
+
+        register(Number.class, Float.class, new IValueConverter<Number, Float>() {
+            @Override
+            public Float convert(Number value) {
+                return value.floatValue();
+            }
+        });
+
+        register(Number.class, BigDecimal.class, new IValueConverter<Number, BigDecimal>() {
+            @Override
+            public BigDecimal convert(Number value) {
+                return new BigDecimal(value.toString());
+            }
+        });
+
+        register(Number.class, BigInteger.class, new IValueConverter<Number, BigInteger>() {
+            @Override
+            public BigInteger convert(Number value) {
+                try {
+                    return toBigDecimal(value).toBigIntegerExact();
+                } catch (ArithmeticException ex) {
+                    throw lossOfValue(value, BigInteger.class);
+                }
+            }
+        });
+    }
+
+    /**
+     * Convert a number to an integral type without a loss of a fractional part or high bits.
+     *
+     * @throws IllegalArgumentException
+     *             if the number has a fractional part or is out of the range
+     */
+    private static long toLongExact(Number value, long min, long max, Class<?> targetClass) {
+        long result;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte) {
+            result = value.longValue();
+        } else {
+            try {
+                result = toBigDecimal(value).longValueExact();
+            } catch (ArithmeticException ex) {
+                throw lossOfValue(value, targetClass);
+            }
+        }
+
+        if (result < min || result > max) {
+            throw lossOfValue(value, targetClass);
+        }
+
+        return result;
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+
+        try {
+            return new BigDecimal(value.toString());
+        } catch (NumberFormatException ex) {
+            // NaN or infinity
+            throw new IllegalArgumentException(String.format("Can't convert %s to a number",
+                    value), ex);
+        }
+    }
+
+    private static IllegalArgumentException lossOfValue(Number value, Class<?> targetClass) {
+        return new IllegalArgumentException(String.format(
+                "Can't convert %s to %s without a loss of the value", value,
+                targetClass.getSimpleName()));
+    }
+
+    private static void registerDateConverters() {
+        register(Date.class, Timestamp.class, new IValueConverter<Date, Timestamp>() {
+            @Override
+            public Timestamp convert(Date value) {
+                return new Timestamp(value.getTime());
+            }
+        });
+
+        register(Date.class, java.sql.Date.class, new IValueConverter<Date, java.sql.Date>() {
+            @Override
+            public java.sql.Date convert(Date value) {
+                return new java.sql.Date(value.getTime());
+            }
+        });
+
+        register(Date.class, Time.class, new IValueConverter<Date, Time>() {
+            @Override
+            public Time convert(Date value) {
+                return new Time(value.getTime());
+            }
+        });
+
+        register(Date.class, Calendar.class, new IValueConverter<Date, Calendar>() {
+            @Override
+            public Calendar convert(Date value) {
+                Calendar result = Calendar.getInstance();
+                result.setTime(value);
+                return result;
+            }
+        });
+
+        register(Calendar.class, Date.class, new IValueConverter<Calendar, Date>() {
+            @Override
+            public Date convert(Calendar value) {
+                return value.getTime();
+            }
+        });
+    }
+
+}
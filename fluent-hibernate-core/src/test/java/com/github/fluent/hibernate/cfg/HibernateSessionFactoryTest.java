@@ -2,6 +2,9 @@ package com.github.fluent.hibernate.cfg;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import javax.persistence.AccessType;
+
+import org.hibernate.PropertyAccessException;
 import org.hibernate.Session;
 import org.junit.After;
 import org.junit.Test;
@@ -39,6 +42,18 @@ public class HibernateSessionFactoryTest {
         dealWithSimplyPersistent();
     }
 
+    @Test
+    public void precompileDtoProjections() {
+        Fluent.factory().dtoProjection(SimplyPersistent.class, "name")
+                .dtoProjection(SimplyPersistent.class, AccessType.FIELD, "name").build();
+        assertSession();
+    }
+
+    @Test(expected = PropertyAccessException.class)
+    public void precompileWrongDtoProjection() {
+        Fluent.factory().dtoProjection(SimplyPersistent.class, "unknownProperty").build();
+    }
+
     private void assertSession() {
         HibernateSessionFactory.doInTransaction(new IRequest<Void>() {
             @Override
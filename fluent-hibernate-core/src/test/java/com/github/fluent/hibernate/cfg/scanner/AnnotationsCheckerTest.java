@@ -2,6 +2,10 @@ package com.github.fluent.hibernate.cfg.scanner;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLClassLoader;
 
@@ -21,6 +25,12 @@ import com.github.fluent.hibernate.cfg.scanner.persistent.NotEntity;
  */
 public class AnnotationsCheckerTest {
 
+    /** A descriptor of an annotation with a not ASCII name ("Annotation" in Russian). */
+    private static final String NON_ASCII_DESCRIPTOR =
+            "Lcom/github/\u0410\u043d\u043d\u043e\u0442\u0430\u0446\u0438\u044f;";
+
+    private static final String ENTITY_DESCRIPTOR = ResourceUtils.toDescriptor(Entity.class);
+
     private static AnnotationChecker annotationChecker;
 
     @BeforeClass
@@ -35,6 +45,11 @@ public class AnnotationsCheckerTest {
         assertThat(check(NotEntity.class)).isFalse();
     }
 
+    @Test
+    public void checkReferenceToAnnotation() throws Exception {
+        assertThat(check(ReferenceToEntity.class)).isFalse();
+    }
+
     @Test
     public void checkInJar() throws Exception {
         URLClassLoader loader = ScannerTestUtils.createClassLoader(null,
@@ -44,6 +59,23 @@ public class AnnotationsCheckerTest {
         assertThat(check(NotEntityJar.class, loader)).isFalse();
     }
 
+    /**
+     * CP_UTF8 entries of annotation descriptors come after a CP_CLASS entry, that references them.
+     */
+    @Test
+    public void checkForwardReferencedDescriptor() throws Exception {
+        AnnotationChecker nonAsciiChecker = new AnnotationChecker(NON_ASCII_DESCRIPTOR);
+
+        assertThat(check(classFile(ENTITY_DESCRIPTOR))).isTrue();
+        assertThat(nonAsciiChecker.hasAnnotation(classFile(NON_ASCII_DESCRIPTOR))).isTrue();
+        assertThat(check(classFile(NON_ASCII_DESCRIPTOR))).isFalse();
+        assertThat(nonAsciiChecker.hasAnnotation(classFile(ENTITY_DESCRIPTOR))).isFalse();
+    }
+
+    private static boolean check(InputStream classStream) throws Exception {
+        return annotationChecker.hasAnnotation(classStream);
+    }
+
     private static boolean check(Class<?> clazz) throws Exception {
         return annotationChecker.hasAnnotation(classAsStream(clazz));
     }
@@ -60,4 +92,68 @@ public class AnnotationsCheckerTest {
         return loader.getResourceAsStream(ResourceUtils.classAsResource(clazz));
     }
 
+    /**
+     * A class file with the annotation. The annotation descriptor is the last constant of the
+     * constant pool.
+     */
+    private static InputStream classFile(String annotationDescriptor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(0xCAFEBABE);
+        // minor, major (Java 6) versions
+        out.writeShort(0);
+        out.writeShort(50);
+
+        out.writeShort(8);
+        // #1 this CP_CLASS -> #4
+        out.writeByte(7);
+        out.writeShort(4);
+        // #2 super CP_CLASS -> #5
+        out.writeByte(7);
+        out.writeShort(5);
+        // #3 CP_CLASS -> #7, references the annotation descriptor
+        out.writeByte(7);
+        out.writeShort(7);
+        // #4 - #7 CP_UTF8
+        out.writeByte(1);
+        out.writeUTF("Annotated");
+        out.writeByte(1);
+        out.writeUTF("java/lang/Object");
+        out.writeByte(1);
+        out.writeUTF("RuntimeVisibleAnnotations");
+        out.writeByte(1);
+        out.writeUTF(annotationDescriptor);
+
+        // access flags, this, super
+        out.writeShort(0x0021);
+        out.writeShort(1);
+        out.writeShort(2);
+        // interfaces, fields, methods
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+
+        // attributes
+        out.writeShort(1);
+        out.writeShort(6);
+        out.writeInt(6);
+        // annotations: type, element value pairs
+        out.writeShort(1);
+        out.writeShort(7);
+        out.writeShort(0);
+
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    /**
+     * A not annotated class with the annotation descriptor in the constant pool.
+     */
+    private static class ReferenceToEntity {
+
+        @SuppressWarnings("unused")
+        private Entity entity;
+
+    }
+
 }
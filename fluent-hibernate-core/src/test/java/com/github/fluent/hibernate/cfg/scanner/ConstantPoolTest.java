@@ -0,0 +1,100 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author V.Ladynev
+ */
+public class ConstantPoolTest {
+
+    /** "Annotation" in Russian. */
+    private static final String NON_ASCII =
+            "\u0410\u043d\u043d\u043e\u0442\u0430\u0446\u0438\u044f";
+
+    /** A supplementary character, it is encoded by a surrogate pair. */
+    private static final String SUPPLEMENTARY = "\uD835\uDC9C";
+
+    private static final String DESCRIPTOR = "Lcom/github/" + NON_ASCII + SUPPLEMENTARY + ";";
+
+    @Test
+    public void toModifiedUtf8() {
+        assertThat(ConstantPool.toModifiedUtf8("Ab")).isEqualTo(bytes('A', 'b'));
+        assertThat(ConstantPool.toModifiedUtf8("\u0000")).isEqualTo(bytes(0xC0, 0x80));
+        assertThat(ConstantPool.toModifiedUtf8("\u0410")).isEqualTo(bytes(0xD0, 0x90));
+        assertThat(ConstantPool.toModifiedUtf8(SUPPLEMENTARY))
+                .isEqualTo(bytes(0xED, 0xA0, 0xB5, 0xED, 0xB2, 0x9C));
+    }
+
+    @Test
+    public void isConstantEqual() throws IOException {
+        ConstantPool pool = readConstantPool();
+        byte[] descriptor = ConstantPool.toModifiedUtf8(DESCRIPTOR);
+
+        // a CP_CLASS and a CP_STRING entry reference a CP_UTF8 entry, that comes after them
+        assertThat(pool.isConstantEqual(1, descriptor)).isTrue();
+        assertThat(pool.isConstantEqual(2, descriptor)).isTrue();
+        assertThat(pool.isConstantEqual(6, descriptor)).isTrue();
+
+        // an index after a double slot of CP_LONG
+        assertThat(pool.isConstantEqual(5, ConstantPool.toModifiedUtf8("java/lang/Object")))
+                .isTrue();
+
+        assertThat(pool.isConstantEqual(1, ConstantPool.toModifiedUtf8("java/lang/Object")))
+                .isFalse();
+        assertThat(pool.isConstantEqual(6, ConstantPool.toModifiedUtf8(DESCRIPTOR + "x")))
+                .isFalse();
+
+        // the same length, but other bytes
+        byte[] other = descriptor.clone();
+        other[other.length - 2]++;
+        assertThat(pool.isConstantEqual(6, other)).isFalse();
+
+        // the standard UTF-8 encoding of a supplementary character differs
+        assertThat(pool.isConstantEqual(6, DESCRIPTOR.getBytes("UTF-8"))).isFalse();
+    }
+
+    private static ConstantPool readConstantPool() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeShort(7);
+        // #1 CP_CLASS -> #6
+        out.writeByte(7);
+        out.writeShort(6);
+        // #2 CP_STRING -> #6
+        out.writeByte(8);
+        out.writeShort(6);
+        // #3, #4 CP_LONG
+        out.writeByte(5);
+        out.writeLong(Long.MAX_VALUE);
+        // #5 CP_UTF8
+        out.writeByte(1);
+        out.writeUTF("java/lang/Object");
+        // #6 CP_UTF8
+        out.writeByte(1);
+        out.writeUTF(DESCRIPTOR);
+
+        ClassFileBuffer buffer = new ClassFileBuffer();
+        buffer.readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+        ConstantPool result = new ConstantPool();
+        result.readEntries(buffer);
+        return result;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+}
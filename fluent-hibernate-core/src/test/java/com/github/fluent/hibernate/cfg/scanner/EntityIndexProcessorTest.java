@@ -0,0 +1,106 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.Converter;
+import javax.persistence.Entity;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ *
+ * @author V.Ladynev
+ */
+public class EntityIndexProcessorTest {
+
+    private static final String INDEXED_PACKAGE = "com.github.fluent.hibernate.cfg.scanner.indexed";
+
+    private static final String ENTITY = INDEXED_PACKAGE + ".IndexedEntity";
+
+    private static final String NOT_ENTITY = INDEXED_PACKAGE + ".NotIndexedEntity";
+
+    private static final String CONVERTER = INDEXED_PACKAGE + ".NotIndexedConverter";
+
+    @Test
+    public void writeIndexAndScan() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+
+        File sources = Files.createTempDir();
+        File classes = Files.createTempDir();
+        File entity = writeSource(sources, "IndexedEntity",
+                "@javax.persistence.Entity public class IndexedEntity { "
+                        + "@javax.persistence.Embeddable public static class Nested { } }");
+        File notEntity = writeSource(sources, "NotIndexedEntity",
+                "public class NotIndexedEntity { }");
+        File converter = writeSource(sources, "NotIndexedConverter",
+                "@javax.persistence.Converter public class NotIndexedConverter { }");
+
+        compile(compiler, classes, entity, notEntity, converter);
+
+        File index = new File(classes, EntityIndex.RESOURCE);
+        assertThat(Files.readLines(index, Charsets.UTF_8)).containsExactly(
+                ENTITY + " javax.persistence.Entity",
+                ENTITY + "$Nested javax.persistence.Embeddable");
+
+        URLClassLoader loader = ScannerTestUtils.createClassLoader(getClass().getClassLoader(),
+                classes.toURI().toURL());
+        assertThat(scanIndexedPackage(loader, Entity.class))
+                .containsExactly(loader.loadClass(ENTITY));
+
+        // an index doesn't have classes with other annotations, class files are read
+        assertThat(scanIndexedPackage(loader, Converter.class))
+                .containsExactly(loader.loadClass(CONVERTER));
+
+        // classes of an index are not checked
+        Files.append(NOT_ENTITY + " javax.persistence.Entity\n", index, Charsets.UTF_8);
+        assertThat(scanIndexedPackage(loader, Entity.class)).containsExactly(
+                loader.loadClass(ENTITY), loader.loadClass(NOT_ENTITY));
+    }
+
+    private static File writeSource(File sources, String className, String body)
+            throws Exception {
+        File result = new File(sources, className + ".java");
+        Files.write("package " + INDEXED_PACKAGE + "; " + body, result, Charsets.UTF_8);
+        return result;
+    }
+
+    private static void compile(JavaCompiler compiler, File classes, File... sources)
+            throws Exception {
+        String jpaClassPath = new File(
+                Entity.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                        .getPath();
+
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+        try {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-d", classes.getPath(), "-classpath", jpaClassPath), null,
+                    fileManager.getJavaFileObjects(sources));
+            task.setProcessors(Collections.singletonList(new EntityIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private static List<Class<?>> scanIndexedPackage(ClassLoader loader,
+            Class<? extends Annotation> annotation) {
+        return EntityScanner.scanPackages(new String[] { INDEXED_PACKAGE },
+                Arrays.asList(loader), annotation).result();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.github.fluent.hibernate.cfg.scanner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author V.Ladynev
+ */
+public class EntityScanCacheTest {
+
+    private static final String KEY = "javax.persistence.Entity:com.example";
+
+    private static final String ENTITY = "com/example/Entity.class";
+
+    private static final String NOT_ENTITY = "com/example/NotEntity.class";
+
+    private File cacheFile;
+
+    private File jar;
+
+    @Before
+    public void createFiles() throws IOException {
+        cacheFile = File.createTempFile("scan-cache", ".properties");
+        cacheFile.delete();
+        jar = File.createTempFile("scan-cache", ".jar");
+        writeJar("content");
+    }
+
+    @After
+    public void deleteFiles() {
+        cacheFile.delete();
+        jar.delete();
+    }
+
+    @Test
+    public void reuseForNotChangedJar() throws IOException {
+        EntityScanCache cache = EntityScanCache.load(cacheFile, KEY);
+        assertThat(cache.isAnnotated(jar, ENTITY)).isNull();
+        cache.put(jar, ENTITY, true);
+        cache.put(jar, NOT_ENTITY, false);
+        cache.save();
+
+        EntityScanCache reloaded = EntityScanCache.load(cacheFile, KEY);
+        assertThat(reloaded.isAnnotated(jar, ENTITY)).isTrue();
+        assertThat(reloaded.isAnnotated(jar, NOT_ENTITY)).isFalse();
+    }
+
+    @Test
+    public void rescanChangedJar() throws IOException {
+        EntityScanCache cache = EntityScanCache.load(cacheFile, KEY);
+        cache.isAnnotated(jar, ENTITY);
+        cache.put(jar, ENTITY, true);
+        cache.save();
+
+        writeJar("changed content");
+        assertThat(EntityScanCache.load(cacheFile, KEY).isAnnotated(jar, ENTITY)).isNull();
+    }
+
+    @Test
+    public void ignoreOtherKey() throws IOException {
+        EntityScanCache cache = EntityScanCache.load(cacheFile, KEY);
+        cache.isAnnotated(jar, ENTITY);
+        cache.put(jar, ENTITY, true);
+        cache.save();
+
+        assertThat(EntityScanCache.load(cacheFile, "other").isAnnotated(jar, ENTITY)).isNull();
+    }
+
+    private void writeJar(String content) throws IOException {
+        FileOutputStream stream = new FileOutputStream(jar);
+        try {
+            stream.write(content.getBytes("UTF-8"));
+        } finally {
+            stream.close();
+        }
+    }
+
+}
@@ -72,6 +72,15 @@ public class EntityScannerTest {
         assertThat(classes).containsOnlyOnce(ENTITY_CLASSES).doesNotContain(NotEntity.class);
     }
 
+    @Test
+    public void scanInParallel() {
+        List<Class<?>> expected = EntityScanner
+                .scanPackages(PERSISTENT_PACKAGE, OTHER_PERSISTENT_PACKAGE).result();
+        List<Class<?>> classes = EntityScanner.scanPackages(ScanOptions.create().parallel(4),
+                PERSISTENT_PACKAGE, OTHER_PERSISTENT_PACKAGE).result();
+        assertThat(classes).containsExactly(expected.toArray(new Class<?>[expected.size()]));
+    }
+
     @Test
     public void scanInJar() throws Exception {
         URLClassLoader loader = createDynJarClassLoader(ScannerTestUtils.writeTestJar());
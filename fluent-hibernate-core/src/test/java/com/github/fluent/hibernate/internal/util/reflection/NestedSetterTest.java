@@ -2,6 +2,7 @@ package com.github.fluent.hibernate.internal.util.reflection;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hibernate.PropertyAccessException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -45,6 +46,27 @@ public class NestedSetterTest {
         assertThat(root.getLevela().getLevelb().getBaseName()).isEqualTo("levelbBaseName");
     }
 
+    @Test
+    public void compiledSetter() {
+        ISetter setter = CompiledSetter.create(RootLevel.class, "levela.levelb.levelbName");
+        assertThat(setter).isInstanceOf(CompiledSetter.class);
+
+        setter.set(root, "levelbName");
+        Levelb levelb = root.getLevela().getLevelb();
+        setter.set(root, "levelbName2");
+
+        assertThat(root.getLevela().getLevelb()).isSameAs(levelb);
+        assertThat(levelb.getLevelbName()).isEqualTo("levelbName2");
+
+        CompiledSetter.create(RootLevel.class, "levela.baseName").set(root, "levelaBaseName");
+        assertThat(root.getLevela().getBaseName()).isEqualTo("levelaBaseName");
+    }
+
+    @Test(expected = PropertyAccessException.class)
+    public void compiledSetterWrongType() {
+        CompiledSetter.create(RootLevel.class, "rootName").set(root, 1L);
+    }
+
     public static class RootLevel extends LevelBase {
 
         private Levela levela;
@@ -0,0 +1,41 @@
+package com.github.fluent.hibernate.internal.util.reflection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.github.fluent.hibernate.internal.util.reflection.NestedSetterTest.Levela;
+import com.github.fluent.hibernate.internal.util.reflection.NestedSetterTest.RootLevel;
+
+/**
+ *
+ * @author V.Ladynev
+ */
+public class ReflectionUtilsTest {
+
+    @Test
+    public void getClassGetterAndSetter() throws Exception {
+        assertThat(ReflectionUtils.getClassGetter(RootLevel.class, "ROOTNAME"))
+                .isEqualTo(RootLevel.class.getMethod("getRootName"));
+        assertThat(ReflectionUtils.getClassSetter(RootLevel.class, "rootName", String.class))
+                .isEqualTo(RootLevel.class.getMethod("setRootName", String.class));
+        assertThat(ReflectionUtils.getClassSetter(RootLevel.class, "rootName", Long.class))
+                .isNull();
+        assertThat(ReflectionUtils.getClassGetter(RootLevel.class, "unknown")).isNull();
+    }
+
+    @Test
+    public void findField() throws Exception {
+        assertThat(ReflectionUtils.findField(Levela.class, "levelaName"))
+                .isEqualTo(Levela.class.getDeclaredField("levelaName"));
+        assertThat(ReflectionUtils.findField(Levela.class, "baseName")).isNotNull();
+        assertThat(ReflectionUtils.findField(Levela.class, "unknown")).isNull();
+    }
+
+    @Test
+    public void cacheProperties() {
+        assertThat(ClassProperties.get(RootLevel.class))
+                .isSameAs(ClassProperties.get(RootLevel.class));
+    }
+
+}
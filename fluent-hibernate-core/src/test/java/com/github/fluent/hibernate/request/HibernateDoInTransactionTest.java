@@ -6,11 +6,15 @@ import java.util.List;
 
 import org.hibernate.Session;
 import org.junit.AfterClass;
+import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Test;
 
 import com.github.fluent.hibernate.H;
 import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.IUnitOfWork;
 import com.github.fluent.hibernate.cfg.Fluent;
+import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
 import com.github.fluent.hibernate.request.persistent.Department;
 import com.github.fluent.hibernate.request.persistent.User;
 
@@ -37,7 +41,13 @@ public class HibernateDoInTransactionTest {
         Fluent.factory().close();
     }
 
-    // @Test
+    @Before
+    public void beforeEachTest() {
+        H.update("delete from User").execute();
+        H.update("delete from Department").execute();
+    }
+
+    @Test
     public void nestedRequest() {
         try {
             saveUser();
@@ -49,6 +59,91 @@ public class HibernateDoInTransactionTest {
         assertThat(users).isEmpty();
     }
 
+    @Test
+    public void unitOfWork() {
+        User saved = H.unitOfWork(new IUnitOfWork<User>() {
+            @Override
+            public User doInUnitOfWork() {
+                Department department = H.save(Department.create("department_a"));
+                User user = H.save(User.create("login_a", department));
+                assertThat(H.getById(User.class, user.getPid())).isSameAs(user);
+                return user;
+            }
+        });
+
+        assertThat(H.getById(User.class, saved.getPid())).isNotNull().isNotSameAs(saved);
+    }
+
+    @Test
+    public void isInUnitOfWork() {
+        assertThat(HibernateSessionFactory.isInUnitOfWork()).isFalse();
+        boolean inUnitOfWork = H.unitOfWork(new IUnitOfWork<Boolean>() {
+            @Override
+            public Boolean doInUnitOfWork() {
+                return HibernateSessionFactory.isInUnitOfWork();
+            }
+        });
+        assertThat(inUnitOfWork).isTrue();
+        assertThat(HibernateSessionFactory.isInUnitOfWork()).isFalse();
+    }
+
+    @Test
+    public void isInUnitOfWorkOfNestedRequest() {
+        final boolean[] inUnitOfWork = new boolean[2];
+        HibernateSessionFactory.doInTransaction(new IRequest<Void>() {
+            @Override
+            public Void doInTransaction(Session session) {
+                inUnitOfWork[0] = HibernateSessionFactory.isInUnitOfWork();
+                inUnitOfWork[1] = HibernateSessionFactory.doInTransaction(
+                        new IRequest<Boolean>() {
+                            @Override
+                            public Boolean doInTransaction(Session session) {
+                                return HibernateSessionFactory.isInUnitOfWork();
+                            }
+                        });
+                return null;
+            }
+        });
+
+        // a top level request opens its own session
+        assertThat(inUnitOfWork[0]).isFalse();
+        assertThat(inUnitOfWork[1]).isTrue();
+    }
+
+    @Test
+    public void unitOfWorkRollback() {
+        try {
+            H.unitOfWork(new IUnitOfWork<Void>() {
+                @Override
+                public Void doInUnitOfWork() {
+                    H.save(Department.create("department_a"));
+                    H.request("from Unknown").list();
+                    return null;
+                }
+            });
+        } catch (Exception ex) {
+            // ignore
+        }
+
+        assertThat(H.request(Department.class).count()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unitOfWorkCaughtNestedFailure() {
+        H.unitOfWork(new IUnitOfWork<Void>() {
+            @Override
+            public Void doInUnitOfWork() {
+                H.save(Department.create("department_a"));
+                try {
+                    H.request("from Unknown").list();
+                } catch (Exception ex) {
+                    // ignore
+                }
+                return null;
+            }
+        });
+    }
+
     private void saveUser() {
         H.<Void> request(new IRequest<Void>() {
             @Override
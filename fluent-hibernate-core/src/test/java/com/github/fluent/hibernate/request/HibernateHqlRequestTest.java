@@ -3,6 +3,7 @@ package com.github.fluent.hibernate.request;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -45,6 +46,14 @@ public class HibernateHqlRequestTest {
         assertThat(users).isNotNull().extracting("login").containsOnly("login_a");
     }
 
+    @Test
+    public void requestsAsync() throws Exception {
+        Future<List<User>> users = H.<User> request("from User u").listAsync();
+        Future<Integer> count = H.request("select count(*) from User").countAsync();
+        assertThat(users.get()).hasSize(2);
+        assertThat(count.get()).isEqualTo(2);
+    }
+
     @Test
     public void requestWithTransform() {
         List<User> users = H.<User> request("select u.login as login from User u")
@@ -1,16 +1,26 @@
 package com.github.fluent.hibernate.request;
 
+import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.ROOT_NAME_A;
 import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.createRequestForRootA;
 import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.createRootRequest;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import org.hibernate.Session;
 import org.junit.Test;
 
+import com.github.fluent.hibernate.BatchStatistics;
 import com.github.fluent.hibernate.H;
+import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.IUnitOfWork;
+import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
 import com.github.fluent.hibernate.test.persistent.Root;
 import com.github.fluent.hibernate.test.util.RootEnvironmentBaseTest;
+import com.google.common.base.Function;
+import com.google.common.collect.Iterables;
 
 /**
  *
@@ -58,6 +68,68 @@ public class HibernateObjectQueryTest extends RootEnvironmentBaseTest {
         assertThat(count).isEqualTo(2);
     }
 
+    @Test
+    public void batchSave() {
+        List<Root> roots = rootsAB();
+        BatchStatistics statistics = H.batch(roots).batchSize(1).save();
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(roots).extracting("pid").doesNotContainNull();
+        assertThat(createRootRequest().count()).isEqualTo(2);
+
+        roots.get(0).setRootName(ROOT_NAME_A + " updated");
+        assertThat(H.batch(roots).saveOrUpdate().getCount()).isEqualTo(2);
+        assertThat(createRootRequest().eq(Root.ROOT_NAME, ROOT_NAME_A + " updated").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void batchSaveClearsSession() {
+        final List<Root> roots = rootsAB();
+        final List<Boolean> containsFirst = new ArrayList<Boolean>();
+
+        // entities are read lazily, so the session is checked before saving of the second one
+        H.batch(Iterables.transform(roots, new Function<Root, Root>() {
+            @Override
+            public Root apply(Root root) {
+                if (root != roots.get(0)) {
+                    containsFirst.add(isInSession(roots.get(0)));
+                }
+                return root;
+            }
+        })).batchSize(1).save();
+
+        assertThat(containsFirst).containsExactly(false);
+        assertThat(createRootRequest().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void batchSaveInUnitOfWork() {
+        H.save(rootA());
+        H.unitOfWork(new IUnitOfWork<Void>() {
+            @Override
+            public Void doInUnitOfWork() {
+                Root loaded = createRequestForRootA().first();
+                H.batch(Arrays.asList(rootB())).batchSize(1).save();
+                loaded.setRootName(ROOT_NAME_A + " updated");
+                return null;
+            }
+        });
+
+        assertThat(createRootRequest().count()).isEqualTo(2);
+        assertThat(createRootRequest().eq(Root.ROOT_NAME, ROOT_NAME_A + " updated").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void insertAllStateless() {
+        List<Root> roots = rootsAB();
+        assertThat(H.insertAllStateless(roots)).containsExactlyElementsOf(roots);
+        assertThat(roots).extracting("pid").doesNotContainNull();
+        assertThat(createRootRequest().count()).isEqualTo(2);
+        assertThat(createRequestForRootA().first().getStationarFrom().getStationar())
+                .isNotNull();
+    }
+
     @Test
     public void delete() {
         H.saveOrUpdate(rootA());
@@ -78,6 +150,17 @@ public class HibernateObjectQueryTest extends RootEnvironmentBaseTest {
         assertThat(count).isEqualTo(0);
     }
 
+    @Test
+    public void deleteByIds() {
+        List<Root> roots = rootsAB();
+        H.saveAll(roots);
+        int count = H.deleteByIds(Root.class,
+                Arrays.asList(roots.get(0).getPid(), roots.get(0).getPid(), -1L));
+        assertThat(count).isEqualTo(1);
+        assertThat(createRootRequest().list()).extracting("pid")
+                .containsExactly(roots.get(1).getPid());
+    }
+
     @Test
     public void deleteAll() {
         H.saveAll(rootsAB());
@@ -88,4 +171,16 @@ public class HibernateObjectQueryTest extends RootEnvironmentBaseTest {
         assertThat(count).isEqualTo(0);
     }
 
+    /**
+     * Check an entity in a session of the current request, a nested request joins it.
+     */
+    private static boolean isInSession(final Object entity) {
+        return HibernateSessionFactory.doInTransaction(new IRequest<Boolean>() {
+            @Override
+            public Boolean doInTransaction(Session session) {
+                return session.contains(entity);
+            }
+        });
+    }
+
 }
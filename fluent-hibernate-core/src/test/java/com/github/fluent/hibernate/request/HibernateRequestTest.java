@@ -1,16 +1,28 @@
 package com.github.fluent.hibernate.request;
 
 import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.ROOT_NAME_A;
+import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.ROOT_NAME_B;
 import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.createRequestForRootA;
 import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.createRootRequest;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
+import org.hibernate.Session;
 import org.junit.Test;
 
 import com.github.fluent.hibernate.H;
+import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.IResultConsumer;
+import com.github.fluent.hibernate.IUnitOfWork;
+import com.github.fluent.hibernate.ListWithCount;
+import com.github.fluent.hibernate.Pagination;
+import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
 import com.github.fluent.hibernate.test.persistent.Root;
+import com.github.fluent.hibernate.test.persistent.RootConsultation;
 import com.github.fluent.hibernate.test.util.RootEnvironmentBaseTest;
 
 /**
@@ -41,4 +53,204 @@ public class HibernateRequestTest extends RootEnvironmentBaseTest {
         assertThat(count).isEqualTo(2);
     }
 
+    @Test
+    public void delete() {
+        H.saveAll(rootsAB());
+        assertThat(createRequestForRootA().delete()).isEqualTo(1);
+        assertThat(createRootRequest().list()).extracting(Root.ROOT_NAME)
+                .containsExactly(ROOT_NAME_B);
+        assertThat(createRootRequest().delete()).isEqualTo(1);
+        assertThat(createRootRequest().count()).isEqualTo(0);
+    }
+
+    @Test
+    public void deleteByRanges() {
+        H.saveAll(rootsAB());
+        assertThat(createRootRequest().isNotNull(Root.ROOT_NAME).delete()).isEqualTo(2);
+        assertThat(createRootRequest().count()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deleteWithMaxResults() {
+        createRootRequest().maxResults(1).delete();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void deleteWithPagination() {
+        createRootRequest().pagination(new Pagination(0, 1)).delete();
+    }
+
+    @Test
+    public void update() {
+        H.saveAll(rootsAB());
+        assertThat(createRequestForRootA().update().set(Root.ROOT_NAME, "updated").execute())
+                .isEqualTo(1);
+        assertThat(createRootRequest().list()).extracting(Root.ROOT_NAME)
+                .containsOnly("updated", ROOT_NAME_B);
+        assertThat(createRootRequest().update().set(Root.ROOT_NAME, null).execute())
+                .isEqualTo(2);
+        assertThat(createRootRequest().isNull(Root.ROOT_NAME).count()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateByChunks() {
+        H.saveAll(rootsAB());
+        assertThat(createRootRequest().isNotNull(Root.ROOT_NAME).update()
+                .set(Root.ROOT_NAME, "updated").byChunks(1).execute()).isEqualTo(2);
+        assertThat(createRootRequest().eq(Root.ROOT_NAME, "updated").count()).isEqualTo(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void updateWithMaxResults() {
+        createRootRequest().maxResults(1).update();
+    }
+
+    @Test
+    public void updateUnknownProperty() {
+        H.saveOrUpdateAll(rootsAB());
+        try {
+            createRootRequest().update().set(Root.ROOT_NAME + " = null, pid", 1L).execute();
+            fail("A property name is not checked");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage()).startsWith("There is not the property");
+        }
+        assertThat(createRootRequest().isNotNull(Root.ROOT_NAME).count()).isEqualTo(2);
+    }
+
+    @Test
+    public void requestsAsync() throws Exception {
+        H.saveOrUpdateAll(rootsAB());
+        Future<Root> root = createRequestForRootA().firstAsync();
+        Future<List<Root>> roots = createRootRequest().listAsync();
+        Future<Integer> count = createRootRequest().countAsync();
+        assertThat(root.get().getRootName()).isEqualTo(ROOT_NAME_A);
+        assertThat(roots.get()).hasSize(2);
+        assertThat(count.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateAsync() throws Exception {
+        H.saveOrUpdateAll(rootsAB());
+        Future<Integer> updated = H.update("update Root set rootName = :name")
+                .p("name", ROOT_NAME_A).executeAsync();
+        assertThat(updated.get()).isEqualTo(2);
+        assertThat(createRequestForRootA().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void countWithJoin() {
+        H.saveOrUpdate(rootWithConsultations(rootA(), 2));
+        int count = createRootRequest().innerJoin("consultations").count();
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    public void listWithCount() {
+        H.saveOrUpdateAll(rootsAB());
+        ListWithCount<Root> result = createRootRequest().orderAsc(Root.ROOT_NAME)
+                .pagination(new Pagination(1, 1)).listWithCount();
+        assertThat(result.getCount()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(Root.ROOT_NAME).containsExactly(ROOT_NAME_B);
+    }
+
+    @Test
+    public void listWithCountWithoutPagination() {
+        H.saveOrUpdateAll(rootsAB());
+        ListWithCount<Root> result = createRequestForRootA().listWithCount();
+        assertThat(result.getCount()).isEqualTo(1);
+        assertThat(result.getResults()).hasSize(1);
+    }
+
+    @Test
+    public void forEach() {
+        H.saveOrUpdateAll(rootsAB());
+        List<Root> roots = CollectionUtils.newArrayList();
+        int count = createRootRequest().orderAsc(Root.ROOT_NAME).fetchSize(1)
+                .forEach(collectTo(roots));
+        assertThat(count).isEqualTo(2);
+        assertThat(roots).extracting(Root.ROOT_NAME).containsExactly(ROOT_NAME_A, ROOT_NAME_B);
+    }
+
+    @Test
+    public void forEachDetachesResults() {
+        H.saveOrUpdateAll(rootsAB());
+        final List<Root> roots = CollectionUtils.newArrayList();
+        final List<Boolean> containsPrevious = CollectionUtils.newArrayList();
+
+        createRootRequest().fetchSize(1).forEach(new IResultConsumer<Root>() {
+            @Override
+            public void accept(final Root root) {
+                if (!roots.isEmpty()) {
+                    // a nested request joins the session of forEach()
+                    containsPrevious.add(HibernateSessionFactory
+                            .doInTransaction(new IRequest<Boolean>() {
+                                @Override
+                                public Boolean doInTransaction(Session session) {
+                                    return session.contains(roots.get(roots.size() - 1));
+                                }
+                            }));
+                }
+                roots.add(root);
+            }
+        });
+
+        assertThat(roots).hasSize(2);
+        assertThat(containsPrevious).containsExactly(false);
+    }
+
+    @Test
+    public void forEachInUnitOfWork() {
+        H.saveOrUpdateAll(rootsAB());
+        H.unitOfWork(new IUnitOfWork<Void>() {
+            @Override
+            public Void doInUnitOfWork() {
+                Root loaded = createRequestForRootA().first();
+                createRootRequest().fetchSize(1)
+                        .forEach(collectTo(CollectionUtils.<Root> newArrayList()));
+                loaded.setRootName("updated");
+                return null;
+            }
+        });
+
+        assertThat(createRootRequest().eq(Root.ROOT_NAME, "updated").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void forEachWithTransform() {
+        H.saveOrUpdateAll(rootsAB());
+        List<Root> roots = CollectionUtils.newArrayList();
+        createRootRequest().proj(Root.ROOT_NAME).orderAsc(Root.ROOT_NAME).transform(Root.class)
+                .forEach(collectTo(roots));
+        assertThat(roots).extracting(Root.ROOT_NAME).containsExactly(ROOT_NAME_A, ROOT_NAME_B);
+        assertThat(roots).extracting("pid").containsOnly((Long) null);
+    }
+
+    @Test
+    public void forEachWithProjections() {
+        H.saveOrUpdateAll(rootsAB());
+        List<Object[]> rows = CollectionUtils.newArrayList();
+        H.<Object[]> request(Root.class).projId("pid").proj(Root.ROOT_NAME)
+                .orderAsc(Root.ROOT_NAME).forEach(collectTo(rows));
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).hasSize(2).contains(ROOT_NAME_A);
+    }
+
+    private static Root rootWithConsultations(Root root, int count) {
+        for (int i = 0; i < count; i++) {
+            RootConsultation consultation = new RootConsultation();
+            consultation.setRoot(root);
+            root.getConsultations().add(consultation);
+        }
+        return root;
+    }
+
+    private static <T> IResultConsumer<T> collectTo(final List<T> results) {
+        return new IResultConsumer<T>() {
+            @Override
+            public void accept(T result) {
+                results.add(result);
+            }
+        };
+    }
+
 }
@@ -6,12 +6,26 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Set;
+
+import org.hibernate.Criteria;
+import org.hibernate.Session;
+import org.hibernate.criterion.CriteriaQuery;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.TypedValue;
+import org.hibernate.internal.CriteriaImpl;
+import org.hibernate.loader.criteria.CriteriaQueryTranslator;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.github.fluent.hibernate.H;
+import com.github.fluent.hibernate.IRequest;
+import com.github.fluent.hibernate.ListWithCount;
+import com.github.fluent.hibernate.cfg.HibernateSessionFactory;
 import com.github.fluent.hibernate.test.persistent.SimplyPersistent;
 import com.github.fluent.hibernate.test.util.FluentHibernateBaseTest;
 
@@ -112,6 +126,104 @@ public class InOperatorTest extends FluentHibernateBaseTest {
         .containsOnly(expected);
     }
 
+    @Test
+    public void inWithHugeCollection() {
+        List<String> names = generateNames(2500);
+        names.add(persistents.get(1).getName());
+        List<SimplyPersistent> list = getRequest().in("name", names).list();
+        assertThat(list).isNotNull().hasSize(1).usingElementComparator(COMPARE_BY_PID)
+                .containsOnly(persistents.get(1));
+    }
+
+    /**
+     * Values are split to IN lists, but all of them are parameters of the one request.
+     */
+    @Test
+    public void hugeCollectionIsOneRequest() {
+        final Object[] names = generateNames(2500).toArray();
+
+        HibernateSessionFactory.doInTransaction(new IRequest<Void>() {
+            @Override
+            public Void doInTransaction(Session session) {
+                CriteriaImpl criteria = (CriteriaImpl) session
+                        .createCriteria(SimplyPersistent.class);
+                CriteriaQueryTranslator query = new CriteriaQueryTranslator(
+                        (SessionFactoryImplementor) session.getSessionFactory(), criteria,
+                        SimplyPersistent.class.getName(), CriteriaQueryTranslator.ROOT_SQL_ALIAS);
+                ChunkedInExpression expression = new ChunkedInExpression("name", names);
+
+                assertThat(expression.toSqlString(criteria, query).split(" in \\(")).hasSize(
+                        1 + (names.length + ChunkedInExpression.DEFAULT_CHUNK_SIZE - 1)
+                                / ChunkedInExpression.DEFAULT_CHUNK_SIZE);
+                assertThat(expression.getTypedValues(criteria, query)).hasSize(names.length);
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void inByChunks() {
+        List<String> names = generateNames(10);
+        names.add(persistents.get(2).getName());
+        names.add(persistents.get(0).getName());
+        names.add(persistents.get(1).getName());
+
+        HibernateRequest<SimplyPersistent> request = getRequest().inByChunks("name", names, 4)
+                .orderDesc("name").maxResults(2);
+        assertThat(request.list()).extracting("name").containsExactly("p2", "p1");
+        assertThat(request.first().getName()).isEqualTo("p2");
+        assertThat(request.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void inByChunksInParallel() {
+        List<String> names = generateNames(10);
+        names.add(persistents.get(0).getName());
+        names.add(persistents.get(2).getName());
+
+        HibernateRequest<SimplyPersistent> request = getRequest()
+                .add(in("name", names).byChunks(3)).parallelChunks().orderAsc("name");
+        assertThat(request.list()).extracting("name").containsExactly("p0", "p2");
+        assertThat(request.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void listWithCountByChunks() {
+        List<String> names = generateNames(10);
+        names.add(persistents.get(0).getName());
+        names.add(persistents.get(2).getName());
+
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+        final Criterion notNull = Restrictions.isNotNull("name");
+        ListWithCount<SimplyPersistent> result = getRequest().inByChunks("name", names, 3)
+                .parallelChunks().add(new Criterion() {
+                    @Override
+                    public String toSqlString(Criteria criteria, CriteriaQuery criteriaQuery) {
+                        threads.add(Thread.currentThread());
+                        return notNull.toSqlString(criteria, criteriaQuery);
+                    }
+
+                    @Override
+                    public TypedValue[] getTypedValues(Criteria criteria,
+                            CriteriaQuery criteriaQuery) {
+                        return notNull.getTypedValues(criteria, criteriaQuery);
+                    }
+                }).orderAsc("name").maxResults(1).listWithCount();
+
+        assertThat(result.getResults()).extracting("name").containsExactly("p0");
+        assertThat(result.getCount()).isEqualTo(2);
+        // chunks are requested in the session of the current thread
+        assertThat(threads).containsExactly(Thread.currentThread());
+    }
+
+    private static List<String> generateNames(int count) {
+        List<String> result = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            result.add("absent" + i);
+        }
+        return result;
+    }
+
     private SimplyPersistent[] twoFirstPersistent() {
         return new SimplyPersistent[] { persistents.get(0), persistents.get(1) };
     }
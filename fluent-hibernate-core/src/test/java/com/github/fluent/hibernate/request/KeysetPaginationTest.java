@@ -0,0 +1,80 @@
+package com.github.fluent.hibernate.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.fluent.hibernate.H;
+import com.github.fluent.hibernate.KeysetPage;
+import com.github.fluent.hibernate.KeysetPagination;
+import com.github.fluent.hibernate.internal.util.InternalUtils.CollectionUtils;
+import com.github.fluent.hibernate.test.persistent.SimplyPersistent;
+import com.github.fluent.hibernate.test.util.FluentHibernateBaseTest;
+
+/**
+ *
+ * @author V.Ladynev
+ */
+public class KeysetPaginationTest extends FluentHibernateBaseTest {
+
+    @Before
+    public void beforeEachTest() {
+        H.update("delete from SimplyPersistent").execute();
+
+        List<SimplyPersistent> persistents = CollectionUtils.newArrayList();
+        persistents.add(new SimplyPersistent("a"));
+        persistents.add(new SimplyPersistent("b"));
+        persistents.add(new SimplyPersistent("b"));
+        persistents.add(new SimplyPersistent("c"));
+        persistents.add(new SimplyPersistent("d"));
+        H.saveAll(persistents);
+    }
+
+    @Test
+    public void pagesByCompositeKey() {
+        KeysetPage<SimplyPersistent> first = request(KeysetPagination.firstPage(2)).keysetPage();
+        assertThat(first.getResults()).extracting("name").containsExactly("a", "b");
+        assertThat(first.hasNext()).isTrue();
+
+        KeysetPage<SimplyPersistent> second = request(
+                KeysetPagination.after(first.getNextCursor(), 2)).keysetPage();
+        assertThat(second.getResults()).extracting("name").containsExactly("b", "c");
+        assertThat(second.hasNext()).isTrue();
+
+        KeysetPage<SimplyPersistent> last = request(
+                KeysetPagination.after(second.getNextCursor(), 2)).keysetPage();
+        assertThat(last.getResults()).extracting("name").containsExactly("d");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    public void descendingWithProjections() {
+        KeysetPage<Object[]> first = H.<Object[]> request(SimplyPersistent.class).proj("name")
+                .projId("pid").orderDesc("name").orderDesc("pid")
+                .pagination(KeysetPagination.firstPage(3)).keysetPage();
+        assertThat(first.getResults()).hasSize(3);
+        assertThat(first.getResults().get(2)[0]).isEqualTo("b");
+
+        List<Object[]> second = H.<Object[]> request(SimplyPersistent.class).proj("name")
+                .projId("pid").orderDesc("name").orderDesc("pid")
+                .pagination(KeysetPagination.after(first.getNextCursor(), 3)).list();
+        assertThat(second).hasSize(2);
+        assertThat(second.get(0)[0]).isEqualTo("b");
+        assertThat(second.get(1)[0]).isEqualTo("a");
+    }
+
+    @Test
+    public void afterKeys() {
+        List<SimplyPersistent> page = request(KeysetPagination.afterKeys(10, "c", 0L)).list();
+        assertThat(page).extracting("name").containsExactly("c", "d");
+    }
+
+    private static HibernateRequest<SimplyPersistent> request(KeysetPagination pagination) {
+        return H.<SimplyPersistent> request(SimplyPersistent.class).orderAsc("name")
+                .orderAsc("pid").pagination(pagination);
+    }
+
+}
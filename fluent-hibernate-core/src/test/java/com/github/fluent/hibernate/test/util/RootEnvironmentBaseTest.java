@@ -20,6 +20,7 @@ public class RootEnvironmentBaseTest extends FluentHibernateBaseTest {
     }
 
     private void clearRoots() {
+        H.update("delete from RootConsultation").execute();
         H.update("delete from Root").execute();
         H.update("delete from Stationar").execute();
     }
@@ -5,14 +5,30 @@ import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.ROOT
 import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.STATIONAR_NAME_A;
 import static com.github.fluent.hibernate.test.util.FluentHibernateTestData.STATIONAR_NAME_B;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
+import java.beans.ConstructorProperties;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import javax.persistence.AccessType;
+
+import org.hibernate.PropertyAccessException;
 import org.junit.Test;
 
 import com.github.fluent.hibernate.H;
+import com.github.fluent.hibernate.IResultConsumer;
 import com.github.fluent.hibernate.internal.util.InternalUtils;
 import com.github.fluent.hibernate.test.persistent.Root;
+import com.github.fluent.hibernate.test.persistent.RootConsultation;
 import com.github.fluent.hibernate.test.persistent.RootStationar;
 import com.github.fluent.hibernate.test.persistent.Stationar;
 import com.github.fluent.hibernate.test.util.RootEnvironmentBaseTest;
@@ -31,6 +47,289 @@ public class FluentHibernateResultTransformerTest extends RootEnvironmentBaseTes
         transform(ROOT_NAME_B, STATIONAR_NAME_B);
     }
 
+    @Test
+    public void cachePlans() {
+        ResultPlan plan = ResultPlan.get(Root.class, new String[] { Root.ROOT_NAME });
+        assertThat(ResultPlan.get(Root.class, new String[] { Root.ROOT_NAME })).isSameAs(plan);
+        assertThat(ResultPlan.get(Root.class, new String[] { Root.ROOT_NAME, "pid" }))
+                .isNotSameAs(plan);
+
+        Root root = (Root) plan.transform(new Object[] { ROOT_NAME_A });
+        assertThat(root.getRootName()).isEqualTo(ROOT_NAME_A);
+    }
+
+    @Test
+    public void generatedAccessor() {
+        GeneratedAccessor accessor = GeneratedAccessor.create(Root.class,
+                new String[] { Root.ROOT_NAME });
+        assertThat(accessor).isNotNull();
+
+        Root root = (Root) accessor.transform(new Object[] { ROOT_NAME_A });
+        assertThat(root.getRootName()).isEqualTo(ROOT_NAME_A);
+
+        // the setter has the Object parameter, because the property is generic
+        assertThat(GeneratedAccessor.create(Root.class, new String[] { "pid" })).isNull();
+
+        assertThat(GeneratedAccessor.create(Root.class,
+                new String[] { "stationarFrom.stationar.name" })).isNull();
+    }
+
+    @Test(expected = PropertyAccessException.class)
+    public void generatedAccessorWrongType() {
+        ResultPlan.get(Root.class, new String[] { Root.ROOT_NAME }).transform(new Object[] { 1L });
+    }
+
+    @Test
+    public void generatedAccessorSetterFails() {
+        ResultPlan plan = ResultPlan.get(FailingDto.class, new String[] { "name" });
+        FailingDto.calls = 0;
+        try {
+            plan.transform(new Object[] { FailingDto.FAIL });
+            fail("An exception of a setter is not thrown");
+        } catch (RuntimeException ex) {
+            assertThat(FailingDto.calls).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void transformByConstructor() {
+        H.saveOrUpdateAll(rootsAB());
+
+        List<RootDto> roots = H.<RootDto> request(Root.class).proj(Root.ROOT_NAME).proj("pid")
+                .orderAsc(Root.ROOT_NAME).transform(RootDto.class).list();
+
+        assertThat(roots).extracting("rootName").containsExactly(ROOT_NAME_A, ROOT_NAME_B);
+        assertThat(roots).extracting("pid").doesNotContainNull();
+    }
+
+    @Test
+    public void transformByOverloadedConstructor() {
+        OverloadedDto dto = (OverloadedDto) ResultPlan
+                .get(OverloadedDto.class, new String[] { "rootName", "pid" })
+                .transform(new Object[] { ROOT_NAME_A, 1L });
+
+        assertThat(dto.getPid()).isEqualTo(1L);
+        assertThat(dto.getRootName()).isEqualTo(ROOT_NAME_A);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transformByAmbiguousConstructor() {
+        ResultPlan.get(AmbiguousDto.class, new String[] { "value" });
+    }
+
+    @Test
+    public void transformByFields() {
+        H.saveOrUpdateAll(rootsAB());
+
+        List<Root> roots = H.<Root> request(Root.class).proj(Root.ROOT_NAME)
+                .innerJoin("stationarFrom.stationar", "stationar")
+                .proj("stationar.name", "stationarFrom.stationar.name")
+                .proj("stationar.pid", "stationarFrom.stationar.pid")
+                .eq(Root.ROOT_NAME, ROOT_NAME_A).transform(Root.class, AccessType.FIELD).list();
+
+        Root root = InternalUtils.CollectionUtils.first(roots);
+        assertThat(root.getRootName()).isEqualTo(ROOT_NAME_A);
+        assertThat(root.getStationarFrom().getStationar().getName()).isEqualTo(STATIONAR_NAME_A);
+        assertThat(root.getStationarFrom().getStationar().getPid()).isNotNull();
+    }
+
+    @Test
+    public void fieldAccessorWithoutSetters() {
+        FieldsDto dto = (FieldsDto) ResultPlan
+                .get(FieldsDto.class, AccessType.FIELD, new String[] { "name", "nested.name" })
+                .transform(new Object[] { ROOT_NAME_A, ROOT_NAME_B });
+
+        assertThat(dto.name).isEqualTo(ROOT_NAME_A);
+        assertThat(dto.nested.name).isEqualTo(ROOT_NAME_B);
+    }
+
+    @Test(expected = PropertyAccessException.class)
+    public void fieldAccessorWrongType() {
+        ResultPlan.get(FieldsDto.class, AccessType.FIELD, new String[] { "name" })
+                .transform(new Object[] { 1L });
+    }
+
+    @Test
+    public void convertValues() {
+        String[] aliases = new String[] { "count", "amount", "sign", "state" };
+        FluentHibernateResultTransformer transformer = new FluentHibernateResultTransformer(
+                ConvertedDto.class);
+
+        ConvertedDto dto = (ConvertedDto) transformer.transformTuple(
+                new Object[] { BigInteger.TEN, new BigDecimal("2"), "A", "CLOSED" }, aliases);
+        assertThat(dto.getCount()).isEqualTo(10L);
+        assertThat(dto.getAmount()).isEqualTo(2);
+        assertThat(dto.getSign()).isEqualTo('A');
+        assertThat(dto.getState()).isEqualTo(State.CLOSED);
+
+        dto = (ConvertedDto) transformer.transformTuple(new Object[] { 5L, 3, null, 0 }, aliases);
+        assertThat(dto.getCount()).isEqualTo(5L);
+        assertThat(dto.getAmount()).isEqualTo(3);
+        assertThat(dto.getState()).isEqualTo(State.OPENED);
+    }
+
+    @Test
+    public void transformInParallel() throws Exception {
+        final FluentHibernateResultTransformer transformer = new FluentHibernateResultTransformer(
+                ConvertedDto.class);
+        final String[] countFirst = new String[] { "count", "amount" };
+        final String[] amountFirst = new String[] { "amount", "count" };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int i = 0; i < 10000; i++) {
+                            boolean first = i % 2 == 0;
+                            ConvertedDto dto = (ConvertedDto) transformer.transformTuple(
+                                    new Object[] { first ? 1L : 2, first ? 2 : 1L },
+                                    first ? countFirst : amountFirst);
+                            assertThat(dto.getCount()).isEqualTo(1L);
+                            assertThat(dto.getAmount()).isEqualTo(2);
+                        }
+                        return null;
+                    }
+                }));
+            }
+
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void convertNumbersExactly() {
+        assertThat(convert(new BigDecimal("2.00"), int.class)).isEqualTo(2);
+        assertThat(convert(3.0, Long.class)).isEqualTo(3L);
+        assertThat(convert(BigInteger.valueOf(Short.MAX_VALUE), short.class))
+                .isEqualTo(Short.MAX_VALUE);
+        assertThat(convert(1, State.class)).isEqualTo(State.CLOSED);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convertNumberWithFraction() {
+        convert(new BigDecimal("2.5"), int.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convertNumberWithOverflow() {
+        convert(Integer.MAX_VALUE + 1L, Integer.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convertWrongOrdinal() {
+        convert(2, State.class);
+    }
+
+    @Test
+    public void transformToGraph() {
+        Root rootA = rootA();
+        addConsultations(rootA, "first", "second");
+        H.saveOrUpdateAll(Arrays.asList(rootA, rootB()));
+
+        List<Root> roots = H.<Root> request(Root.class).proj("pid").proj(Root.ROOT_NAME)
+                .leftJoin("consultations", "consultation")
+                .proj("consultation.consultant", "consultations[].consultant")
+                .orderAsc(Root.ROOT_NAME).orderAsc("consultation.consultant")
+                .useTransformer(new FluentHibernateGraphTransformer(Root.class, "pid")).list();
+
+        assertThat(roots).extracting(Root.ROOT_NAME).containsExactly(ROOT_NAME_A, ROOT_NAME_B);
+        assertThat(roots.get(0).getConsultations()).extracting("consultant")
+                .containsExactly("first", "second");
+        assertThat(roots.get(1).getConsultations()).isEmpty();
+    }
+
+    @Test
+    public void transformToGraphByChildId() {
+        Root rootA = rootA();
+        addConsultations(rootA, "same", "same");
+        H.saveOrUpdateAll(Arrays.asList(rootA, rootB()));
+
+        List<Root> roots = H.<Root> request(Root.class).proj("pid").proj(Root.ROOT_NAME)
+                .leftJoin("consultations", "consultation")
+                .proj("consultation.pid", "consultations[].pid")
+                .proj("consultation.consultant", "consultations[].consultant")
+                .orderAsc(Root.ROOT_NAME).orderAsc("consultation.pid")
+                .useTransformer(new FluentHibernateGraphTransformer(Root.class, "pid")
+                        .childId("consultations[].pid")).list();
+
+        // children with equal values are not merged
+        assertThat(roots).extracting(Root.ROOT_NAME).containsExactly(ROOT_NAME_A, ROOT_NAME_B);
+        assertThat(roots.get(0).getConsultations()).extracting("consultant")
+                .containsExactly("same", "same");
+        assertThat(roots.get(0).getConsultations()).extracting("pid").doesNotContainNull()
+                .doesNotHaveDuplicates();
+        assertThat(roots.get(1).getConsultations()).isEmpty();
+    }
+
+    @Test
+    public void resetGraphBeforeRequest() {
+        H.saveOrUpdateAll(rootsAB());
+
+        FluentHibernateGraphTransformer transformer = new FluentHibernateGraphTransformer(
+                Root.class, "pid");
+        // a tuple of a failed request
+        transformer.transformTuple(new Object[] { -1L, "stale" },
+                new String[] { "pid", Root.ROOT_NAME });
+
+        List<Root> roots = H.<Root> request(Root.class).proj("pid").proj(Root.ROOT_NAME)
+                .orderAsc(Root.ROOT_NAME).useTransformer(transformer).list();
+
+        assertThat(roots).extracting(Root.ROOT_NAME).containsExactly(ROOT_NAME_A, ROOT_NAME_B);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void graphWithForEach() {
+        H.<Root> request(Root.class).proj("pid")
+                .useTransformer(new FluentHibernateGraphTransformer(Root.class, "pid"))
+                .forEach(new IResultConsumer<Root>() {
+                    @Override
+                    public void accept(Root root) {
+                    }
+                });
+    }
+
+    @Test
+    public void transformToMap() {
+        H.saveOrUpdateAll(rootsAB());
+
+        List<Map<String, Object>> rows = H.<Map<String, Object>> request(Root.class)
+                .proj(Root.ROOT_NAME).proj("pid").orderAsc(Root.ROOT_NAME)
+                .useTransformer(new FluentHibernateMapTransformer()).list();
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsEntry(Root.ROOT_NAME, ROOT_NAME_A).containsKey("pid")
+                .hasSize(2);
+        assertThat(rows.get(1).get(Root.ROOT_NAME)).isEqualTo(ROOT_NAME_B);
+        assertThat(rows.get(1).get("unknown")).isNull();
+        assertThat(rows.get(1).keySet()).containsExactly(Root.ROOT_NAME, "pid");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transformToMapWithDuplicatedAliases() {
+        new FluentHibernateMapTransformer().transformTuple(new Object[] { 1L, 2L },
+                new String[] { "pid", "pid" });
+    }
+
+    private static Object convert(Object value, Class<?> targetClass) {
+        return ValueConverters.find(value.getClass(), targetClass).convert(value);
+    }
+
+    private static void addConsultations(Root root, String... consultants) {
+        for (String consultant : consultants) {
+            RootConsultation consultation = new RootConsultation();
+            consultation.setConsultant(consultant);
+            consultation.setRoot(root);
+            root.getConsultations().add(consultation);
+        }
+    }
+
     private void transform(String rootName, String stationarName) {
         List<Root> roots = H.<Root> request(Root.class).proj(Root.ROOT_NAME)
                 .innerJoin("stationarFrom.stationar", "stationar")
@@ -50,4 +349,143 @@ public class FluentHibernateResultTransformerTest extends RootEnvironmentBaseTes
         assertThat(stationar.getName()).isEqualTo(stationarName);
     }
 
+    public static class FailingDto {
+
+        static final String FAIL = "fail";
+
+        private static int calls;
+
+        public String getName() {
+            return null;
+        }
+
+        /**
+         * Hibernate checks a generated accessor with a null value.
+         */
+        public void setName(String name) {
+            calls++;
+            if (FAIL.equals(name)) {
+                throw new IllegalStateException("A setter fails");
+            }
+        }
+
+    }
+
+    public static final class OverloadedDto {
+
+        private final Long pid;
+
+        private final String rootName;
+
+        @ConstructorProperties({ "pid", "rootName" })
+        public OverloadedDto(String pid, String rootName) {
+            this(Long.valueOf(pid), rootName);
+        }
+
+        @ConstructorProperties({ "pid", "rootName" })
+        public OverloadedDto(Long pid, String rootName) {
+            this.pid = pid;
+            this.rootName = rootName;
+        }
+
+        public Long getPid() {
+            return pid;
+        }
+
+        public String getRootName() {
+            return rootName;
+        }
+
+    }
+
+    public static final class AmbiguousDto {
+
+        @ConstructorProperties("value")
+        public AmbiguousDto(String value) {
+        }
+
+        @ConstructorProperties("value")
+        public AmbiguousDto(Long value) {
+        }
+
+    }
+
+    public static final class RootDto {
+
+        private final Long pid;
+
+        private final String rootName;
+
+        @ConstructorProperties({ "pid", "rootName" })
+        public RootDto(Long pid, String rootName) {
+            this.pid = pid;
+            this.rootName = rootName;
+        }
+
+        public Long getPid() {
+            return pid;
+        }
+
+        public String getRootName() {
+            return rootName;
+        }
+
+    }
+
+    private static final class FieldsDto {
+
+        private String name;
+
+        private FieldsDto nested;
+
+    }
+
+    public enum State {
+        OPENED, CLOSED
+    }
+
+    public static class ConvertedDto {
+
+        private long count;
+
+        private int amount;
+
+        private Character sign;
+
+        private State state;
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public void setAmount(int amount) {
+            this.amount = amount;
+        }
+
+        public Character getSign() {
+            return sign;
+        }
+
+        public void setSign(Character sign) {
+            this.sign = sign;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public void setState(State state) {
+            this.state = state;
+        }
+
+    }
+
 }